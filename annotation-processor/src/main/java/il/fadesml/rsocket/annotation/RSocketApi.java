@@ -11,4 +11,18 @@ public @interface RSocketApi {
     Class<? extends RSocketRequesterProvider> provider();
 
     boolean generateAsComponent();
+
+    boolean cacheRequester() default false;
+
+    boolean generateCodecs() default false;
+
+    boolean metrics() default false;
+
+    boolean generateBlockingClient() default false;
+
+    boolean generateServerAdapter() default false;
+
+    boolean generateConfiguration() default false;
+
+    boolean generateStub() default false;
 }
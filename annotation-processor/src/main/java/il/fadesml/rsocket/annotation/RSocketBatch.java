@@ -0,0 +1,22 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces calls of a request-response method into one request per batch.
+ * The batch route receives a {@code List} of the data items and must reply with
+ * a {@code List} of {@link il.fadesml.rsocket.batch.RSocketBatchItemResult} in
+ * the same order.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketBatch {
+    String route();
+
+    int maxSize() default 64;
+
+    long maxDelayMillis() default 5;
+}
@@ -0,0 +1,23 @@
+package il.fadesml.rsocket.annotation;
+
+import il.fadesml.rsocket.constant.RSocketCacheEviction;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serves a request-response method from a bounded in-memory cache keyed by the
+ * expanded route, that is the route and its {@code @DestinationVariable} values.
+ * The data payload is not part of the key.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketCacheable {
+    long ttlMillis();
+
+    int maxSize() default 10_000;
+
+    RSocketCacheEviction eviction() default RSocketCacheEviction.LRU;
+}
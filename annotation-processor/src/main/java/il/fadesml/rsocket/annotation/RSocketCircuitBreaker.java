@@ -0,0 +1,22 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Guards every method of the generated client with one shared
+ * {@link il.fadesml.rsocket.resilience.RSocketClientCircuitBreaker}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketCircuitBreaker {
+    int failureRateThreshold() default 50;
+
+    int minimumCalls() default 20;
+
+    int windowSize() default 100;
+
+    long openMillis() default 10_000;
+}
@@ -0,0 +1,16 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets concurrent identical calls of a request-response method share one
+ * upstream request. Calls are identical when the expanded route and the data
+ * item are equal, so the data type should implement {@code equals}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketCoalesce {
+}
@@ -0,0 +1,24 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Deflates response and request data of at least {@code thresholdBytes} with
+ * the given deflate {@code level}. On the interface it applies to every method
+ * that supports it, on a method it overrides the interface setting. The
+ * provider must apply the generated {@code RSOCKET_CONNECTOR_CONFIGURER} and the
+ * responder must install
+ * {@link il.fadesml.rsocket.compression.RSocketCompressionInterceptor#responder()},
+ * otherwise the exchange stays uncompressed. Requests are compressed only after
+ * a response on the same connection has shown that the responder inflates them.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketCompression {
+    int thresholdBytes() default 16_384;
+
+    int level() default 1;
+}
@@ -0,0 +1,20 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caps the in-flight calls of the generated client with one shared
+ * {@link il.fadesml.rsocket.resilience.RSocketClientConcurrencyLimiter}. When
+ * {@code dropFireAndForget} is set, fire-and-forget and metadata push calls
+ * over the limit are dropped instead of failing.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketConcurrencyLimit {
+    int maxConcurrent();
+
+    boolean dropFireAndForget() default true;
+}
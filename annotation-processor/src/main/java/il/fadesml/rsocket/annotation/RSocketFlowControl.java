@@ -0,0 +1,34 @@
+package il.fadesml.rsocket.annotation;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bounds the demand of a request-stream or request-channel method. A value of
+ * {@code 0} leaves the Reactor and RSocket default for that attribute.
+ * <ul>
+ *     <li>{@code initialRequest} is the first REQUEST_N sent to the responder.</li>
+ *     <li>{@code limitRate} is the REQUEST_N used to replenish once the
+ *     previous batch is consumed.</li>
+ *     <li>{@code limitRequest} caps the total number of elements requested.</li>
+ *     <li>{@code outboundBuffer} bounds the buffer in front of the channel input
+ *     {@code Flux}. When it overflows, {@code outboundOverflow} applies.</li>
+ * </ul>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketFlowControl {
+    int initialRequest() default 0;
+
+    int limitRate() default 0;
+
+    long limitRequest() default 0;
+
+    int outboundBuffer() default 0;
+
+    BufferOverflowStrategy outboundOverflow() default BufferOverflowStrategy.ERROR;
+}
@@ -0,0 +1,24 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the method through the named lane of the provider, resolved with
+ * {@link RSocketRequesterProvider#getRSocketRequester(String)}. Lanes only
+ * isolate traffic when the provider overrides that method with a separate
+ * requester per lane, which costs one more connection per lane. Otherwise all
+ * lanes share the default requester and its connection, and only
+ * {@code maxConcurrent} applies. It caps the in-flight calls of the whole lane,
+ * {@code 0} leaves it unbounded. Methods sharing a lane must not declare
+ * different limits.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketLane {
+    String name();
+
+    int maxConcurrent() default 0;
+}
@@ -0,0 +1,18 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes the connector configured with the generated
+ * {@code RSOCKET_CONNECTOR_CONFIGURER} honour server issued leases. Requests
+ * without an available lease wait in a queue of {@code maxPendingRequests}, or
+ * fail fast with {@code MissingLeaseException} when it is {@code 0}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketLease {
+    int maxPendingRequests() default 0;
+}
@@ -0,0 +1,17 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends a method parameter as a metadata entry of the given mime type. Several
+ * entries per request require a composite metadata mime type on the requester,
+ * which is the Spring default.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketMetadata {
+    String mimeType();
+}
@@ -5,4 +5,8 @@ import org.springframework.messaging.rsocket.RSocketRequester;
 public interface RSocketRequesterProvider {
     RSocketRequester getRSocketRequester();
 
+    // Requester of a lane declared with @RSocketLane, all lanes share the default requester unless overridden
+    default RSocketRequester getRSocketRequester(String lane) {
+        return getRSocketRequester();
+    }
 }
@@ -0,0 +1,27 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables session resumption on the connector configured with the generated
+ * {@code RSOCKET_CONNECTOR_CONFIGURER}. After a connection drop the client
+ * reconnects with the given backoff and replays the frames held in a store of
+ * {@code storeSizeBytes}, so streams survive the drop instead of re-subscribing.
+ * The provider must hand out the same requester for the whole session.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketResume {
+    long sessionDurationMillis() default 120_000;
+
+    long streamTimeoutMillis() default 10_000;
+
+    int storeSizeBytes() default 100_000;
+
+    long reconnectMinBackoffMillis() default 100;
+
+    long reconnectMaxBackoffMillis() default 5_000;
+}
@@ -0,0 +1,27 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retries a failed call with exponential backoff and jitter. Only put it on
+ * idempotent routes, the data is sent again on every attempt. With
+ * {@link RSocketTimeout} the timeout applies to each attempt.
+ * <p>
+ * A request stream is retried only until its first element arrives. An error
+ * after that is passed on, re-subscribing would deliver the received elements
+ * a second time.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketRetry {
+    int maxRetries() default 3;
+
+    long minBackoffMillis() default 100;
+
+    long maxBackoffMillis() default 2_000;
+
+    double jitter() default 0.5;
+}
@@ -0,0 +1,17 @@
+package il.fadesml.rsocket.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a call with a {@code TimeoutException} when no signal arrives within
+ * {@code millis}. For streams and channels the timeout applies to the first
+ * element and then to the gap between elements.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface RSocketTimeout {
+    long millis();
+}
@@ -0,0 +1,8 @@
+package il.fadesml.rsocket.batch;
+
+public class RSocketBatchItemException extends RuntimeException {
+
+    public RSocketBatchItemException(String message) {
+        super(message);
+    }
+}
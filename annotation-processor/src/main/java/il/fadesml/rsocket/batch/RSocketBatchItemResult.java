@@ -0,0 +1,21 @@
+package il.fadesml.rsocket.batch;
+
+import lombok.Data;
+
+@Data
+public class RSocketBatchItemResult<T> {
+    private T data;
+    private String error;
+
+    public static <T> RSocketBatchItemResult<T> success(T data) {
+        RSocketBatchItemResult<T> result = new RSocketBatchItemResult<>();
+        result.setData(data);
+        return result;
+    }
+
+    public static <T> RSocketBatchItemResult<T> failure(String error) {
+        RSocketBatchItemResult<T> result = new RSocketBatchItemResult<>();
+        result.setError(error);
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+package il.fadesml.rsocket.batch;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Buffers single request-response calls for up to {@code maxSize} items or
+ * {@code maxDelay}, sends each buffer as one {@code List} to the batch route and
+ * completes every caller with the result at its position in the reply.
+ * <p>
+ * Callers emit under a lock instead of spinning on a contended sink. Every
+ * caller is tracked until its result arrives: an error in the pipeline fails
+ * the queued and in-flight callers and starts a fresh pipeline, disposing the
+ * batcher fails them with a {@link CancellationException}.
+ */
+public class RSocketRequestBatcher<T, R> implements Disposable {
+    private final Supplier<RSocketRequester> requesterSupplier;
+    private final String route;
+    private final ParameterizedTypeReference<List<RSocketBatchItemResult<R>>> responseType;
+    private final int maxSize;
+    private final Duration maxDelay;
+
+    private final ReentrantLock emitLock = new ReentrantLock();
+    private final Set<MonoSink<R>> pendingSinks = ConcurrentHashMap.newKeySet();
+    // Guarded by emitLock
+    private Sinks.Many<PendingRequest<T, R>> queue;
+    private Disposable pipeline;
+    private volatile boolean disposed;
+
+    public RSocketRequestBatcher(
+            Supplier<RSocketRequester> requesterSupplier,
+            String route,
+            Class<R> responseType,
+            int maxSize,
+            Duration maxDelay
+    ) {
+        this(requesterSupplier, route, ResolvableType.forClass(responseType), maxSize, maxDelay);
+    }
+
+    public RSocketRequestBatcher(
+            Supplier<RSocketRequester> requesterSupplier,
+            String route,
+            ParameterizedTypeReference<R> responseType,
+            int maxSize,
+            Duration maxDelay
+    ) {
+        this(requesterSupplier, route, ResolvableType.forType(responseType), maxSize, maxDelay);
+    }
+
+    private RSocketRequestBatcher(
+            Supplier<RSocketRequester> requesterSupplier,
+            String route,
+            ResolvableType responseType,
+            int maxSize,
+            Duration maxDelay
+    ) {
+        this.requesterSupplier = requesterSupplier;
+        this.route = route;
+        this.responseType = ParameterizedTypeReference.forType(
+                ResolvableType.forClassWithGenerics(
+                        List.class,
+                        ResolvableType.forClassWithGenerics(RSocketBatchItemResult.class, responseType)
+                ).getType()
+        );
+        this.maxSize = maxSize;
+        this.maxDelay = maxDelay;
+
+        emitLock.lock();
+        try {
+            startPipeline();
+        } finally {
+            emitLock.unlock();
+        }
+    }
+
+    public Mono<R> submit(T item) {
+        return Mono.create(sink -> {
+            Sinks.EmitResult result;
+            emitLock.lock();
+            try {
+                if (disposed) {
+                    result = Sinks.EmitResult.FAIL_TERMINATED;
+                } else {
+                    // Tracked before the emission, a pipeline error on this thread must see it
+                    pendingSinks.add(sink);
+                    sink.onDispose(() -> pendingSinks.remove(sink));
+                    result = queue.tryEmitNext(new PendingRequest<>(item, sink));
+                }
+            } finally {
+                emitLock.unlock();
+            }
+
+            if (disposed) {
+                sink.error(disposedException());
+            } else if (result.isFailure()) {
+                sink.error(new RSocketBatchItemException("Batch route '" + route + "' rejected the item: " + result));
+            }
+        });
+    }
+
+    // Called with emitLock held
+    private void startPipeline() {
+        Sinks.Many<PendingRequest<T, R>> queue = Sinks.many().unicast().onBackpressureBuffer();
+        this.queue = queue;
+        // Fair backpressure keeps a timed flush from overflowing when flatMap has no demand left
+        this.pipeline = queue.asFlux()
+                .bufferTimeout(maxSize, maxDelay, true)
+                .flatMap(this::send)
+                .subscribe(null, this::restartPipeline);
+    }
+
+    private void restartPipeline(Throwable exception) {
+        emitLock.lock();
+        try {
+            failPending(exception);
+            if (!disposed) {
+                startPipeline();
+            }
+        } finally {
+            emitLock.unlock();
+        }
+    }
+
+    private Mono<Void> send(List<PendingRequest<T, R>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (PendingRequest<T, R> request : batch) {
+            items.add(request.item());
+        }
+
+        return Mono.defer(() -> requesterSupplier.get()
+                        .route(route)
+                        .data(items)
+                        .retrieveMono(responseType)
+                )
+                .doOnNext(results -> complete(batch, results))
+                .switchIfEmpty(Mono.fromRunnable(() ->
+                        failAll(batch, new RSocketBatchItemException("Batch route '" + route + "' returned no results"))
+                ))
+                .onErrorResume(exception -> {
+                    failAll(batch, exception);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void complete(List<PendingRequest<T, R>> batch, List<RSocketBatchItemResult<R>> results) {
+        for (int i = 0; i < batch.size(); i++) {
+            MonoSink<R> sink = batch.get(i).sink();
+            RSocketBatchItemResult<R> result = i < results.size() ? results.get(i) : null;
+
+            if (result == null) {
+                sink.error(new RSocketBatchItemException("Batch route '" + route + "' returned no result for item " + i));
+            } else if (result.getError() != null) {
+                sink.error(new RSocketBatchItemException(result.getError()));
+            } else {
+                sink.success(result.getData());
+            }
+        }
+    }
+
+    private void failAll(List<PendingRequest<T, R>> batch, Throwable exception) {
+        for (PendingRequest<T, R> request : batch) {
+            request.sink().error(exception);
+        }
+    }
+
+    private void failPending(Throwable exception) {
+        for (MonoSink<R> sink : pendingSinks) {
+            sink.error(exception);
+        }
+    }
+
+    private CancellationException disposedException() {
+        return new CancellationException("Batcher of route '" + route + "' was disposed");
+    }
+
+    @Override
+    public void dispose() {
+        emitLock.lock();
+        try {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            queue.tryEmitComplete();
+            pipeline.dispose();
+        } finally {
+            emitLock.unlock();
+        }
+
+        // Buffered items were dropped and in-flight batches cancelled, their callers would wait forever
+        failPending(disposedException());
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private record PendingRequest<T, R>(T item, MonoSink<R> sink) { }
+}
@@ -0,0 +1,258 @@
+package il.fadesml.rsocket.blocking;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Waits for reactive results by parking the calling thread. Unlike
+ * {@code block()} there is no latch and no extra stack trace capture, and a
+ * parked virtual thread releases its carrier. Runtime exceptions are rethrown
+ * as they are, checked ones are wrapped in {@link RSocketBlockingException}.
+ */
+public final class RSocketBlockingBridge {
+
+    private RSocketBlockingBridge() {
+    }
+
+    public static <T> T await(Mono<? extends T> mono) {
+        AwaitSubscriber<T> subscriber = new AwaitSubscriber<>();
+        mono.subscribe(subscriber);
+        return subscriber.await();
+    }
+
+    public static void run(Mono<Void> mono) {
+        await(mono);
+    }
+
+    public static <T> Stream<T> stream(Flux<? extends T> flux) {
+        return stream(flux, Queues.SMALL_BUFFER_SIZE);
+    }
+
+    // Subscribes on the first hasNext, closing the stream cancels the upstream
+    public static <T> Stream<T> stream(Flux<? extends T> flux, int prefetch) {
+        StreamSubscriber<T> subscriber = new StreamSubscriber<>(flux, prefetch);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(subscriber, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false
+                )
+                .onClose(subscriber::cancel);
+    }
+
+    private static RuntimeException propagate(Throwable error) {
+        if (error instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        return new RSocketBlockingException(error.getMessage(), error);
+    }
+
+    private static RuntimeException interrupted() {
+        Thread.currentThread().interrupt();
+        return new RSocketBlockingException("Interrupted while waiting for an RSocket response", new InterruptedException());
+    }
+
+    private static final class AwaitSubscriber<T> implements CoreSubscriber<T> {
+        private final Thread waiter = Thread.currentThread();
+
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        // Published by the volatile write of done
+        private T value;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T value) {
+            if (this.value == null) {
+                this.value = value;
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            complete();
+        }
+
+        @Override
+        public void onComplete() {
+            complete();
+        }
+
+        private void complete() {
+            done = true;
+            LockSupport.unpark(waiter);
+        }
+
+        private T await() {
+            while (!done) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    cancel();
+                    throw interrupted();
+                }
+            }
+
+            if (error != null) {
+                throw propagate(error);
+            }
+            return value;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    private static final class StreamSubscriber<T> implements CoreSubscriber<T>, Iterator<T> {
+        private final Flux<? extends T> source;
+        private final int prefetch;
+        private final int limit;
+        private final Queue<T> queue;
+
+        private volatile Subscription subscription;
+        private volatile Thread waiter;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        // Published by the volatile write of done
+        private Throwable error;
+
+        // Consumer thread only
+        private boolean subscribed;
+        private int consumed;
+
+        private StreamSubscriber(Flux<? extends T> source, int prefetch) {
+            this.source = source;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = Queues.<T>get(prefetch).get();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(T value) {
+            if (!queue.offer(value)) {
+                subscription.cancel();
+                onError(Exceptions.failWithOverflow(Exceptions.BACKPRESSURE_ERROR_QUEUE_FULL));
+                return;
+            }
+            signal();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            done = true;
+            signal();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            signal();
+        }
+
+        private void signal() {
+            Thread current = waiter;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!subscribed) {
+                subscribed = true;
+                source.subscribe(this);
+            }
+
+            while (true) {
+                boolean terminated = done;
+                if (!queue.isEmpty()) {
+                    return true;
+                }
+                if (terminated) {
+                    if (error != null) {
+                        throw propagate(error);
+                    }
+                    return false;
+                }
+
+                // Re-checked after publishing the waiter so a concurrent signal is not lost
+                waiter = Thread.currentThread();
+                if (!done && queue.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                waiter = null;
+
+                if (Thread.interrupted()) {
+                    cancel();
+                    throw interrupted();
+                }
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            T value = queue.poll();
+            if (++consumed == limit) {
+                consumed = 0;
+                subscription.request(limit);
+            }
+            return value;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package il.fadesml.rsocket.blocking;
+
+public class RSocketBlockingException extends RuntimeException {
+
+    public RSocketBlockingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
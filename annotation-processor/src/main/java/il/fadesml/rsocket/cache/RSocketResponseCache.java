@@ -0,0 +1,139 @@
+package il.fadesml.rsocket.cache;
+
+import il.fadesml.rsocket.coalesce.RSocketRequestCoalescer;
+import il.fadesml.rsocket.constant.RSocketCacheEviction;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded response cache of one generated client method. Concurrent misses of
+ * the same key share one upstream request, only successful values are cached.
+ * <p>
+ * Reads take no lock: entries live in a {@link ConcurrentHashMap} and a hit only
+ * stamps its access time. Eviction is approximate, when a put overflows
+ * {@code maxSize} one thread drops expired entries and then the least recently
+ * used (or oldest inserted) tenth of the cache, so the scan is amortized over
+ * many puts and other writers never wait for it.
+ */
+public class RSocketResponseCache<V> {
+    private static final int EVICTION_DIVISOR = 10;
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final boolean lru;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final RSocketRequestCoalescer<V> inFlight = new RSocketRequestCoalescer<>();
+
+    public RSocketResponseCache(long ttlMillis, int maxSize, RSocketCacheEviction eviction) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxSize = maxSize;
+        this.lru = eviction == RSocketCacheEviction.LRU;
+    }
+
+    public V getIfPresent(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (now - entry.expiresAtNanos >= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        if (lru) {
+            entry.lastAccessNanos = now;
+        }
+        return entry.value;
+    }
+
+    public Mono<V> load(String key, Mono<V> request) {
+        return Mono.defer(() -> {
+            V cached = getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            return inFlight.execute(key, request.doOnNext(value -> put(key, value)));
+        });
+    }
+
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void put(String key, V value) {
+        long now = System.nanoTime();
+        entries.put(key, new Entry<>(value, now + ttlNanos, now));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        // One evicting thread is enough, the others keep writing and the next overflow catches up
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int target = maxSize - maxSize / EVICTION_DIVISOR;
+            int excess = entries.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+
+            // Keeps the `excess` oldest entries, the newest candidate sits on top and is dropped first
+            long now = System.nanoTime();
+            PriorityQueue<Map.Entry<String, Entry<V>>> oldest = new PriorityQueue<>(
+                    excess + 1,
+                    Comparator.comparingLong((Map.Entry<String, Entry<V>> candidate) -> candidate.getValue().lastAccessNanos).reversed()
+            );
+            for (Map.Entry<String, Entry<V>> candidate : entries.entrySet()) {
+                if (now - candidate.getValue().expiresAtNanos >= 0) {
+                    entries.remove(candidate.getKey(), candidate.getValue());
+                    continue;
+                }
+                oldest.offer(candidate);
+                if (oldest.size() > excess) {
+                    oldest.poll();
+                }
+            }
+
+            List<Map.Entry<String, Entry<V>>> victims = new ArrayList<>(oldest);
+            victims.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastAccessNanos));
+            for (Map.Entry<String, Entry<V>> victim : victims) {
+                if (entries.size() <= target) {
+                    break;
+                }
+                entries.remove(victim.getKey(), victim.getValue());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // With FIFO eviction the access time stays the insertion time
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtNanos;
+        private volatile long lastAccessNanos;
+
+        private Entry(V value, long expiresAtNanos, long lastAccessNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package il.fadesml.rsocket.coalesce;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight execution of identical requests. While a request for a key is
+ * in flight, further subscribers of the same key join it instead of sending
+ * their own. The key leaves the map as soon as the shared request terminates,
+ * so later calls go upstream again.
+ */
+public class RSocketRequestCoalescer<V> {
+    private final Map<Object, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(Object key, Mono<V> request) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            SharedRequest<V> candidate = new SharedRequest<>();
+            candidate.mono = request
+                    .doFinally(signal -> inFlight.remove(key, candidate.mono))
+                    .share();
+
+            existing = inFlight.putIfAbsent(key, candidate.mono);
+            return existing != null ? existing : candidate.mono;
+        });
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static final class SharedRequest<V> {
+        private Mono<V> mono;
+    }
+}
@@ -0,0 +1,3 @@
+package il.fadesml.rsocket.coalesce;
+
+public record RSocketRequestKey(String route, Object data) { }
@@ -0,0 +1,9 @@
+package il.fadesml.rsocket.codec;
+
+public interface RSocketBinaryCodec<T> {
+    Class<T> getType();
+
+    void write(T value, RSocketBinaryWriter writer);
+
+    T read(RSocketBinaryReader reader);
+}
@@ -0,0 +1,71 @@
+package il.fadesml.rsocket.codec;
+
+import org.springframework.util.MimeType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class RSocketBinaryCodecs {
+    public static final MimeType MIME_TYPE = new MimeType("application", "x.fadesml.rsocket-binary");
+
+    private static final List<RSocketBinaryCodec<?>> SCALAR_CODECS = List.of(
+            new ScalarCodec<>(String.class, RSocketBinaryWriter::writeString, RSocketBinaryReader::readString),
+            new ScalarCodec<>(byte[].class, RSocketBinaryWriter::writeBytes, RSocketBinaryReader::readBytes),
+            new ScalarCodec<>(Boolean.class, RSocketBinaryWriter::writeBoolean, RSocketBinaryReader::readBoolean),
+            new ScalarCodec<>(Integer.class, RSocketBinaryWriter::writeInt, RSocketBinaryReader::readInt),
+            new ScalarCodec<>(Long.class, RSocketBinaryWriter::writeLong, RSocketBinaryReader::readLong),
+            new ScalarCodec<>(Double.class, RSocketBinaryWriter::writeDouble, RSocketBinaryReader::readDouble)
+    );
+
+    private RSocketBinaryCodecs() {
+    }
+
+    static Map<Class<?>, RSocketBinaryCodec<?>> index(List<? extends RSocketBinaryCodec<?>> codecs) {
+        Map<Class<?>, RSocketBinaryCodec<?>> index = new HashMap<>();
+        for (RSocketBinaryCodec<?> codec : SCALAR_CODECS) {
+            index.put(codec.getType(), codec);
+        }
+        for (RSocketBinaryCodec<?> codec : codecs) {
+            index.put(codec.getType(), codec);
+        }
+        return Map.copyOf(index);
+    }
+
+    // A subclass is written by the codec of its nearest indexed superclass, its own fields are not sent
+    static RSocketBinaryCodec<?> find(Map<Class<?>, RSocketBinaryCodec<?>> index, Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            RSocketBinaryCodec<?> codec = index.get(current);
+            if (codec != null) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    private interface ValueWriter<T> {
+        void write(RSocketBinaryWriter writer, T value);
+    }
+
+    private interface ValueReader<T> {
+        T read(RSocketBinaryReader reader);
+    }
+
+    private record ScalarCodec<T>(Class<T> type, ValueWriter<T> writer, ValueReader<T> reader) implements RSocketBinaryCodec<T> {
+
+        @Override
+        public Class<T> getType() {
+            return type;
+        }
+
+        @Override
+        public void write(T value, RSocketBinaryWriter binaryWriter) {
+            writer.write(binaryWriter, value);
+        }
+
+        @Override
+        public T read(RSocketBinaryReader binaryReader) {
+            return reader.read(binaryReader);
+        }
+    }
+}
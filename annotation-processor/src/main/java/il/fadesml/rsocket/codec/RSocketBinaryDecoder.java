@@ -0,0 +1,48 @@
+package il.fadesml.rsocket.codec;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.util.MimeType;
+
+import java.util.List;
+import java.util.Map;
+
+public class RSocketBinaryDecoder extends AbstractDataBufferDecoder<Object> {
+    private final Map<Class<?>, RSocketBinaryCodec<?>> codecs;
+
+    public RSocketBinaryDecoder(List<? extends RSocketBinaryCodec<?>> codecs) {
+        super(RSocketBinaryCodecs.MIME_TYPE);
+        this.codecs = RSocketBinaryCodecs.index(codecs);
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return super.canDecode(elementType, mimeType) && codecs.containsKey(elementType.toClass());
+    }
+
+    @Override
+    public Object decode(
+            DataBuffer buffer,
+            ResolvableType targetType,
+            MimeType mimeType,
+            Map<String, Object> hints
+    ) throws DecodingException {
+        RSocketBinaryCodec<?> codec = codecs.get(targetType.toClass());
+        if (codec == null) {
+            DataBufferUtils.release(buffer);
+            throw new DecodingException("No generated codec for " + targetType);
+        }
+
+        try {
+            return codec.read(new RSocketBinaryReader(NettyDataBufferFactory.toByteBuf(buffer)));
+        } catch (IndexOutOfBoundsException exception) {
+            throw new DecodingException("Truncated " + RSocketBinaryCodecs.MIME_TYPE + " payload", exception);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package il.fadesml.rsocket.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+public class RSocketBinaryEncoder extends AbstractEncoder<Object> {
+    private final Map<Class<?>, RSocketBinaryCodec<?>> codecs;
+
+    public RSocketBinaryEncoder(List<? extends RSocketBinaryCodec<?>> codecs) {
+        super(RSocketBinaryCodecs.MIME_TYPE);
+        this.codecs = RSocketBinaryCodecs.index(codecs);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return super.canEncode(elementType, mimeType) && RSocketBinaryCodecs.find(codecs, elementType.toClass()) != null;
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+            Publisher<? extends Object> inputStream,
+            DataBufferFactory bufferFactory,
+            ResolvableType elementType,
+            MimeType mimeType,
+            Map<String, Object> hints
+    ) {
+        return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataBuffer encodeValue(
+            Object value,
+            DataBufferFactory bufferFactory,
+            ResolvableType valueType,
+            MimeType mimeType,
+            Map<String, Object> hints
+    ) {
+        RSocketBinaryCodec<Object> codec = (RSocketBinaryCodec<Object>) RSocketBinaryCodecs.find(codecs, value.getClass());
+        if (codec == null) {
+            throw new EncodingException("No generated codec for " + value.getClass().getName());
+        }
+
+        if (bufferFactory instanceof NettyDataBufferFactory nettyBufferFactory) {
+            ByteBuf buffer = nettyBufferFactory.getByteBufAllocator().buffer();
+            try {
+                codec.write(value, new RSocketBinaryWriter(buffer));
+            } catch (RuntimeException exception) {
+                buffer.release();
+                throw exception;
+            }
+            return nettyBufferFactory.wrap(buffer);
+        }
+
+        ByteBuf buffer = Unpooled.buffer();
+        codec.write(value, new RSocketBinaryWriter(buffer));
+        return bufferFactory.wrap(buffer.nioBuffer());
+    }
+}
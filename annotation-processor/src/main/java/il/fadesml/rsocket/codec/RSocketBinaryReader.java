@@ -0,0 +1,136 @@
+package il.fadesml.rsocket.codec;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Counterpart of {@link RSocketBinaryWriter}.
+ */
+public final class RSocketBinaryReader {
+    private final ByteBuf buffer;
+
+    public RSocketBinaryReader(ByteBuf buffer) {
+        this.buffer = buffer;
+    }
+
+    public boolean readBoolean() {
+        return buffer.readBoolean();
+    }
+
+    public byte readByte() {
+        return buffer.readByte();
+    }
+
+    public short readShort() {
+        return buffer.readShort();
+    }
+
+    public char readChar() {
+        return buffer.readChar();
+    }
+
+    public int readInt() {
+        return buffer.readInt();
+    }
+
+    public long readLong() {
+        return buffer.readLong();
+    }
+
+    public float readFloat() {
+        return buffer.readFloat();
+    }
+
+    public double readDouble() {
+        return buffer.readDouble();
+    }
+
+    public Boolean readNullableBoolean() {
+        return buffer.readBoolean() ? buffer.readBoolean() : null;
+    }
+
+    public Byte readNullableByte() {
+        return buffer.readBoolean() ? buffer.readByte() : null;
+    }
+
+    public Short readNullableShort() {
+        return buffer.readBoolean() ? buffer.readShort() : null;
+    }
+
+    public Character readNullableChar() {
+        return buffer.readBoolean() ? buffer.readChar() : null;
+    }
+
+    public Integer readNullableInt() {
+        return buffer.readBoolean() ? buffer.readInt() : null;
+    }
+
+    public Long readNullableLong() {
+        return buffer.readBoolean() ? buffer.readLong() : null;
+    }
+
+    public Float readNullableFloat() {
+        return buffer.readBoolean() ? buffer.readFloat() : null;
+    }
+
+    public Double readNullableDouble() {
+        return buffer.readBoolean() ? buffer.readDouble() : null;
+    }
+
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = buffer.toString(buffer.readerIndex(), length, StandardCharsets.UTF_8);
+        buffer.skipBytes(length);
+        return value;
+    }
+
+    public byte[] readBytes() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.readBytes(value);
+        return value;
+    }
+
+    public <E extends Enum<E>> E readEnum(Function<String, E> valueOf) {
+        String name = readString();
+        return name == null ? null : valueOf.apply(name);
+    }
+
+    public <T> T readObject(RSocketBinaryCodec<T> codec) {
+        return buffer.readBoolean() ? codec.read(this) : null;
+    }
+
+    public <T> List<T> readList(Function<RSocketBinaryReader, T> elementReader) {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(elementReader.apply(this));
+        }
+        return values;
+    }
+
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte current = buffer.readByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+}
@@ -0,0 +1,153 @@
+package il.fadesml.rsocket.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact binary output used by generated codecs. Fixed size values are written
+ * big-endian, lengths as unsigned varints. Nullable values are prefixed with a
+ * presence byte, nullable strings and lists encode {@code null} as length zero
+ * and everything else as {@code length + 1}.
+ */
+public final class RSocketBinaryWriter {
+    private final ByteBuf buffer;
+
+    public RSocketBinaryWriter(ByteBuf buffer) {
+        this.buffer = buffer;
+    }
+
+    public void writeBoolean(boolean value) {
+        buffer.writeBoolean(value);
+    }
+
+    public void writeByte(byte value) {
+        buffer.writeByte(value);
+    }
+
+    public void writeShort(short value) {
+        buffer.writeShort(value);
+    }
+
+    public void writeChar(char value) {
+        buffer.writeChar(value);
+    }
+
+    public void writeInt(int value) {
+        buffer.writeInt(value);
+    }
+
+    public void writeLong(long value) {
+        buffer.writeLong(value);
+    }
+
+    public void writeFloat(float value) {
+        buffer.writeFloat(value);
+    }
+
+    public void writeDouble(double value) {
+        buffer.writeDouble(value);
+    }
+
+    public void writeNullableBoolean(Boolean value) {
+        if (writePresence(value)) {
+            buffer.writeBoolean(value);
+        }
+    }
+
+    public void writeNullableByte(Byte value) {
+        if (writePresence(value)) {
+            buffer.writeByte(value);
+        }
+    }
+
+    public void writeNullableShort(Short value) {
+        if (writePresence(value)) {
+            buffer.writeShort(value);
+        }
+    }
+
+    public void writeNullableChar(Character value) {
+        if (writePresence(value)) {
+            buffer.writeChar(value);
+        }
+    }
+
+    public void writeNullableInt(Integer value) {
+        if (writePresence(value)) {
+            buffer.writeInt(value);
+        }
+    }
+
+    public void writeNullableLong(Long value) {
+        if (writePresence(value)) {
+            buffer.writeLong(value);
+        }
+    }
+
+    public void writeNullableFloat(Float value) {
+        if (writePresence(value)) {
+            buffer.writeFloat(value);
+        }
+    }
+
+    public void writeNullableDouble(Double value) {
+        if (writePresence(value)) {
+            buffer.writeDouble(value);
+        }
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(ByteBufUtil.utf8Bytes(value) + 1);
+        ByteBufUtil.writeUtf8(buffer, value);
+    }
+
+    public void writeBytes(byte[] value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(value.length + 1);
+        buffer.writeBytes(value);
+    }
+
+    public void writeEnum(Enum<?> value) {
+        writeString(value == null ? null : value.name());
+    }
+
+    public <T> void writeObject(T value, RSocketBinaryCodec<T> codec) {
+        if (writePresence(value)) {
+            codec.write(value, this);
+        }
+    }
+
+    public <T> void writeList(List<T> values, BiConsumer<T, RSocketBinaryWriter> elementWriter) {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        for (T value : values) {
+            elementWriter.accept(value, this);
+        }
+    }
+
+    public void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer.writeByte(value);
+    }
+
+    private boolean writePresence(Object value) {
+        buffer.writeBoolean(value != null);
+        return value != null;
+    }
+}
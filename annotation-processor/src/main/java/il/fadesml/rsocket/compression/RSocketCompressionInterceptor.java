@@ -0,0 +1,162 @@
+package il.fadesml.rsocket.compression;
+
+import il.fadesml.rsocket.compression.RSocketPayloadCompression.Policy;
+import io.rsocket.Payload;
+import io.rsocket.RSocket;
+import io.rsocket.plugins.RSocketInterceptor;
+import io.rsocket.util.RSocketProxy;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies {@link RSocketPayloadCompression} on one side of a connection. The
+ * requester side offers compression for the exchanges the generated client
+ * marked and inflates their responses. The responder side compresses the
+ * responses of exchanges that accept it and acknowledges the first of them, and
+ * it inflates compressed requests.
+ * <p>
+ * Requests are only compressed once an acknowledged response has shown that
+ * the responder on this connection inflates them. A responder without the
+ * interceptor never receives compressed data. Exchanges without compression
+ * entries pass through untouched.
+ */
+public class RSocketCompressionInterceptor implements RSocketInterceptor {
+    private final boolean requester;
+
+    private RSocketCompressionInterceptor(boolean requester) {
+        this.requester = requester;
+    }
+
+    // For RSocketConnector interceptors, registry.forRequester(...)
+    public static RSocketCompressionInterceptor requester() {
+        return new RSocketCompressionInterceptor(true);
+    }
+
+    // For RSocketServer interceptors, registry.forResponder(...)
+    public static RSocketCompressionInterceptor responder() {
+        return new RSocketCompressionInterceptor(false);
+    }
+
+    @Override
+    public RSocket apply(RSocket rsocket) {
+        return requester ? new CompressingRequester(rsocket) : new CompressingResponder(rsocket);
+    }
+
+    private static class CompressingRequester extends RSocketProxy {
+        // Set by the first acknowledged response, requests stay plain until then
+        private volatile boolean peerInflates;
+
+        CompressingRequester(RSocket source) {
+            super(source);
+        }
+
+        @Override
+        public Mono<Void> fireAndForget(Payload payload) {
+            Policy policy = RSocketPayloadCompression.readPolicy(payload, RSocketPayloadCompression.POLICY_MIME_TYPE);
+            if (policy == null) {
+                return source.fireAndForget(payload);
+            }
+            return source.fireAndForget(outbound(RSocketPayloadCompression.negotiate(payload), policy));
+        }
+
+        @Override
+        public Mono<Payload> requestResponse(Payload payload) {
+            Policy policy = RSocketPayloadCompression.readPolicy(payload, RSocketPayloadCompression.POLICY_MIME_TYPE);
+            if (policy == null) {
+                return source.requestResponse(payload);
+            }
+            return source.requestResponse(outbound(RSocketPayloadCompression.negotiate(payload), policy))
+                    .map(this::inbound);
+        }
+
+        @Override
+        public Flux<Payload> requestStream(Payload payload) {
+            Policy policy = RSocketPayloadCompression.readPolicy(payload, RSocketPayloadCompression.POLICY_MIME_TYPE);
+            if (policy == null) {
+                return source.requestStream(payload);
+            }
+            return source.requestStream(outbound(RSocketPayloadCompression.negotiate(payload), policy))
+                    .map(this::inbound);
+        }
+
+        // Only the first payload carries metadata, its policy applies to the whole channel
+        @Override
+        public Flux<Payload> requestChannel(Publisher<Payload> payloads) {
+            return Flux.from(payloads).switchOnFirst((signal, flux) -> {
+                Payload first = signal.get();
+                Policy policy = first != null
+                        ? RSocketPayloadCompression.readPolicy(first, RSocketPayloadCompression.POLICY_MIME_TYPE)
+                        : null;
+                if (policy == null) {
+                    return source.requestChannel(flux);
+                }
+
+                Flux<Payload> outbound = flux.index().map(indexed -> outbound(
+                        indexed.getT1() == 0 ? RSocketPayloadCompression.negotiate(indexed.getT2()) : indexed.getT2(),
+                        policy
+                ));
+                return source.requestChannel(outbound).map(this::inbound);
+            }, false);
+        }
+
+        private Payload outbound(Payload payload, Policy policy) {
+            return peerInflates ? RSocketPayloadCompression.compress(payload, policy) : payload;
+        }
+
+        private Payload inbound(Payload response) {
+            if (!peerInflates && RSocketPayloadCompression.isEncoded(response)) {
+                peerInflates = true;
+            }
+            return RSocketPayloadCompression.decompress(response);
+        }
+    }
+
+    private static class CompressingResponder extends RSocketProxy {
+
+        CompressingResponder(RSocket source) {
+            super(source);
+        }
+
+        @Override
+        public Mono<Void> fireAndForget(Payload payload) {
+            return source.fireAndForget(RSocketPayloadCompression.decompress(payload));
+        }
+
+        @Override
+        public Mono<Payload> requestResponse(Payload payload) {
+            Policy policy = RSocketPayloadCompression.readPolicy(payload, RSocketPayloadCompression.ACCEPT_ENCODING_MIME_TYPE);
+            Mono<Payload> response = source.requestResponse(RSocketPayloadCompression.decompress(payload));
+            return policy == null
+                    ? response
+                    : response.map(result -> RSocketPayloadCompression.acknowledge(RSocketPayloadCompression.compress(result, policy)));
+        }
+
+        @Override
+        public Flux<Payload> requestStream(Payload payload) {
+            Policy policy = RSocketPayloadCompression.readPolicy(payload, RSocketPayloadCompression.ACCEPT_ENCODING_MIME_TYPE);
+            Flux<Payload> response = source.requestStream(RSocketPayloadCompression.decompress(payload));
+            return policy == null ? response : encodeResponses(response, policy);
+        }
+
+        @Override
+        public Flux<Payload> requestChannel(Publisher<Payload> payloads) {
+            return Flux.from(payloads).switchOnFirst((signal, flux) -> {
+                Payload first = signal.get();
+                Policy policy = first != null
+                        ? RSocketPayloadCompression.readPolicy(first, RSocketPayloadCompression.ACCEPT_ENCODING_MIME_TYPE)
+                        : null;
+
+                Flux<Payload> response = source.requestChannel(flux.map(RSocketPayloadCompression::decompress));
+                return policy == null ? response : encodeResponses(response, policy);
+            }, false);
+        }
+
+        private static Flux<Payload> encodeResponses(Flux<Payload> responses, Policy policy) {
+            return responses.index().map(indexed -> {
+                Payload compressed = RSocketPayloadCompression.compress(indexed.getT2(), policy);
+                return indexed.getT1() == 0 ? RSocketPayloadCompression.acknowledge(compressed) : compressed;
+            });
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package il.fadesml.rsocket.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.rsocket.Payload;
+import io.rsocket.metadata.CompositeMetadata;
+import io.rsocket.metadata.CompositeMetadataCodec;
+import io.rsocket.util.ByteBufPayload;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate compression of payload data, negotiated through composite metadata.
+ * <ul>
+ *     <li>{@link #POLICY_MIME_TYPE} is added by the generated client and only
+ *     read by the requester interceptor, which turns it into
+ *     {@link #ACCEPT_ENCODING_MIME_TYPE}. Without the interceptor nothing
+ *     compression related reaches the responder.</li>
+ *     <li>{@link #ACCEPT_ENCODING_MIME_TYPE} tells the responder it may compress
+ *     the responses of this exchange.</li>
+ *     <li>{@link #CONTENT_ENCODING_MIME_TYPE} marks compressed data and carries
+ *     its original length. The first response of an accepted exchange always
+ *     carries it, {@link #IDENTITY} when that response stays uncompressed, so
+ *     the requester learns that the peer can inflate requests too.</li>
+ * </ul>
+ * Deflaters and inflaters are pooled, compressed data is written into pooled
+ * direct buffers.
+ */
+public final class RSocketPayloadCompression {
+    public static final String POLICY_MIME_TYPE = "message/x.rsocket.compression-policy.v0";
+    public static final String ACCEPT_ENCODING_MIME_TYPE = "message/x.rsocket.accept-encoding.v0";
+    public static final String CONTENT_ENCODING_MIME_TYPE = "message/x.rsocket.content-encoding.v0";
+    public static final String DEFLATE = "deflate";
+    public static final String IDENTITY = "identity";
+
+    private static final String LENGTH_PREFIX = DEFLATE + ";length=";
+    private static final int MAX_INFLATED_BYTES = 256 << 20;
+    private static final int POOL_SIZE = 64;
+    private static final int MIN_CHUNK = 256;
+    private static final ByteBufAllocator ALLOCATOR = ByteBufAllocator.DEFAULT;
+
+    private static final List<BlockingQueue<Deflater>> DEFLATERS = new ArrayList<>();
+    private static final BlockingQueue<Inflater> INFLATERS = new LinkedBlockingQueue<>(POOL_SIZE);
+
+    static {
+        for (int level = Deflater.NO_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            DEFLATERS.add(new LinkedBlockingQueue<>(POOL_SIZE));
+        }
+    }
+
+    private RSocketPayloadCompression() {
+    }
+
+    public record Policy(int thresholdBytes, int level) { }
+
+    public static String policy(int thresholdBytes, int level) {
+        return DEFLATE + ";threshold=" + thresholdBytes + ";level=" + level;
+    }
+
+    // Policy of the given entry, null when absent or not understood
+    public static Policy readPolicy(Payload payload, String mimeType) {
+        ByteBuf content = findEntry(payload, mimeType);
+        if (content == null) {
+            return null;
+        }
+
+        String[] parts = content.toString(StandardCharsets.UTF_8).split(";");
+        if (!DEFLATE.equals(parts[0])) {
+            return null;
+        }
+
+        int threshold = Integer.MAX_VALUE;
+        int level = Deflater.BEST_SPEED;
+        try {
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].startsWith("threshold=")) {
+                    threshold = Integer.parseInt(parts[i].substring("threshold=".length()));
+                } else if (parts[i].startsWith("level=")) {
+                    level = Integer.parseInt(parts[i].substring("level=".length()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        if (threshold < 0 || level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            return null;
+        }
+        return new Policy(threshold, level);
+    }
+
+    // Rewrites the client side policy entry into the accept entry sent to the responder
+    public static Payload negotiate(Payload payload) {
+        CompositeByteBuf metadata = ALLOCATOR.compositeBuffer();
+        try {
+            for (CompositeMetadata.Entry entry : new CompositeMetadata(payload.sliceMetadata(), false)) {
+                String mimeType = POLICY_MIME_TYPE.equals(entry.getMimeType()) ? ACCEPT_ENCODING_MIME_TYPE : entry.getMimeType();
+                if (mimeType == null) {
+                    // Reserved mime ids can not be re-encoded, the exchange stays uncompressed
+                    metadata.release();
+                    return payload;
+                }
+                CompositeMetadataCodec.encodeAndAddMetadataWithCompression(metadata, ALLOCATOR, mimeType, entry.getContent().retain());
+            }
+
+            Payload negotiated = ByteBufPayload.create(payload.sliceData().retain(), metadata);
+            payload.release();
+            return negotiated;
+        } catch (RuntimeException e) {
+            metadata.release();
+            throw e;
+        }
+    }
+
+    // Returns the payload itself when it is below the threshold or does not shrink
+    public static Payload compress(Payload payload, Policy policy) {
+        ByteBuf data = payload.sliceData();
+        int length = data.readableBytes();
+        if (length < policy.thresholdBytes()) {
+            return payload;
+        }
+
+        ByteBuf compressed = deflate(data, policy.level());
+        if (compressed == null) {
+            return payload;
+        }
+
+        return withContentEncoding(payload, compressed, LENGTH_PREFIX + length);
+    }
+
+    // Marks the payload as sent by a peer that understands compression, compressed payloads already are
+    public static Payload acknowledge(Payload payload) {
+        if (isEncoded(payload)) {
+            return payload;
+        }
+        return withContentEncoding(payload, payload.sliceData().retain(), IDENTITY);
+    }
+
+    public static boolean isEncoded(Payload payload) {
+        return findEntry(payload, CONTENT_ENCODING_MIME_TYPE) != null;
+    }
+
+    // Returns the payload itself when its data is not compressed
+    public static Payload decompress(Payload payload) {
+        ByteBuf content = findEntry(payload, CONTENT_ENCODING_MIME_TYPE);
+        if (content == null) {
+            return payload;
+        }
+
+        String encoding = content.toString(StandardCharsets.UTF_8);
+        if (IDENTITY.equals(encoding)) {
+            return payload;
+        }
+
+        try {
+            if (!encoding.startsWith(LENGTH_PREFIX)) {
+                throw new IllegalStateException("Unsupported content encoding '" + encoding + "'");
+            }
+
+            int length = Integer.parseInt(encoding.substring(LENGTH_PREFIX.length()));
+            if (length < 0 || length > MAX_INFLATED_BYTES) {
+                throw new IllegalStateException("Compressed payload declares " + length + " bytes");
+            }
+
+            // The metadata keeps the encoding entry, decoders only look at the entries they know
+            return ByteBufPayload.create(inflate(payload.sliceData(), length), payload.sliceMetadata().retain());
+        } finally {
+            payload.release();
+        }
+    }
+
+    // Takes ownership of data and releases the original payload
+    private static Payload withContentEncoding(Payload payload, ByteBuf data, String encoding) {
+        CompositeByteBuf metadata = ALLOCATOR.compositeBuffer();
+        if (payload.hasMetadata()) {
+            metadata.addComponent(true, payload.sliceMetadata().retain());
+        }
+        ByteBuf content = ALLOCATOR.buffer();
+        content.writeCharSequence(encoding, StandardCharsets.UTF_8);
+        CompositeMetadataCodec.encodeAndAddMetadata(metadata, ALLOCATOR, CONTENT_ENCODING_MIME_TYPE, content);
+
+        Payload result = ByteBufPayload.create(data, metadata);
+        payload.release();
+        return result;
+    }
+
+    private static ByteBuf deflate(ByteBuf data, int level) {
+        BlockingQueue<Deflater> pool = DEFLATERS.get(level);
+        Deflater deflater = pool.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level);
+        }
+
+        int length = data.readableBytes();
+        ByteBuf out = ALLOCATOR.directBuffer(Math.max(MIN_CHUNK, length / 4));
+        try {
+            deflater.setInput(data.nioBuffer());
+            deflater.finish();
+            while (!deflater.finished()) {
+                // Gives up as soon as the output is not smaller than the input
+                if (out.writerIndex() >= length) {
+                    out.release();
+                    return null;
+                }
+                out.ensureWritable(Math.max(MIN_CHUNK, out.writerIndex() / 2));
+                int written = deflater.deflate(out.nioBuffer(out.writerIndex(), out.writableBytes()));
+                out.writerIndex(out.writerIndex() + written);
+            }
+            if (out.writerIndex() >= length) {
+                out.release();
+                return null;
+            }
+            return out;
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        } finally {
+            deflater.reset();
+            if (!pool.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static ByteBuf inflate(ByteBuf data, int length) {
+        Inflater inflater = INFLATERS.poll();
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+
+        // One spare byte, so a stream longer than declared is detected instead of truncated
+        ByteBuf out = ALLOCATOR.directBuffer(length + 1, length + 1);
+        try {
+            inflater.setInput(data.nioBuffer());
+            while (!inflater.finished()) {
+                int written = inflater.inflate(out.nioBuffer(out.writerIndex(), out.writableBytes()));
+                out.writerIndex(out.writerIndex() + written);
+                if (written == 0 && (inflater.needsInput() || inflater.needsDictionary() || !out.isWritable())) {
+                    throw new IllegalStateException("Malformed deflate payload");
+                }
+            }
+            if (out.readableBytes() != length) {
+                throw new IllegalStateException("Deflate payload inflates to " + out.readableBytes() + " bytes instead of " + length);
+            }
+            return out;
+        } catch (DataFormatException e) {
+            out.release();
+            throw new IllegalStateException("Malformed deflate payload", e);
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        } finally {
+            inflater.reset();
+            if (!INFLATERS.offer(inflater)) {
+                inflater.end();
+            }
+        }
+    }
+
+    private static ByteBuf findEntry(Payload payload, String mimeType) {
+        if (!payload.hasMetadata()) {
+            return null;
+        }
+
+        try {
+            for (CompositeMetadata.Entry entry : new CompositeMetadata(payload.sliceMetadata(), false)) {
+                if (mimeType.equals(entry.getMimeType())) {
+                    return entry.getContent();
+                }
+            }
+        } catch (RuntimeException e) {
+            // Not composite metadata, so nothing was negotiated
+        }
+        return null;
+    }
+}
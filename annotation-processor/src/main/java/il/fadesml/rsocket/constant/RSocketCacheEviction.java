@@ -0,0 +1,6 @@
+package il.fadesml.rsocket.constant;
+
+public enum RSocketCacheEviction {
+    LRU,
+    FIFO
+}
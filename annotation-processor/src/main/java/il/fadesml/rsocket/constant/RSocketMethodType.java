@@ -4,5 +4,6 @@ public enum RSocketMethodType {
     REQUEST_RESPONSE,
     FIRE_AND_FORGET,
     REQUEST_STREAM,
-    REQUEST_CHANNEL
+    REQUEST_CHANNEL,
+    METADATA_PUSH
 }
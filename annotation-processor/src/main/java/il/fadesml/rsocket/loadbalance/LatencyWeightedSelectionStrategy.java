@@ -0,0 +1,51 @@
+package il.fadesml.rsocket.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over the measured latency: two random candidates are
+ * compared by {@code averageLatency * (outstandingRequests + 1)} and the cheaper
+ * one wins. A connection without samples yet borrows the latency of the other
+ * candidate, or {@link #DEFAULT_LATENCY_NANOS} when neither has one, so its
+ * outstanding requests still count against it. On equal cost the unmeasured
+ * connection wins, which gets fresh connections their first samples.
+ */
+public class LatencyWeightedSelectionStrategy implements RSocketRequesterSelectionStrategy {
+    static final long DEFAULT_LATENCY_NANOS = 1_000_000L;
+
+    @Override
+    public PooledRSocketRequester select(List<PooledRSocketRequester> candidates) {
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        PooledRSocketRequester firstCandidate = candidates.get(first);
+        PooledRSocketRequester secondCandidate = candidates.get(second);
+        long firstLatency = firstCandidate.getAverageLatencyNanos();
+        long secondLatency = secondCandidate.getAverageLatencyNanos();
+
+        double firstCost = cost(firstCandidate, firstLatency != 0 ? firstLatency : seed(secondLatency));
+        double secondCost = cost(secondCandidate, secondLatency != 0 ? secondLatency : seed(firstLatency));
+        if (firstCost == secondCost) {
+            return secondLatency == 0 ? secondCandidate : firstCandidate;
+        }
+        return firstCost < secondCost ? firstCandidate : secondCandidate;
+    }
+
+    private static long seed(long otherLatency) {
+        return otherLatency != 0 ? otherLatency : DEFAULT_LATENCY_NANOS;
+    }
+
+    private static double cost(PooledRSocketRequester candidate, long latencyNanos) {
+        return (double) latencyNanos * (candidate.getOutstandingRequests() + 1);
+    }
+}
@@ -0,0 +1,31 @@
+package il.fadesml.rsocket.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the candidate with the fewest in-flight requests. Scanning starts at a
+ * random offset so ties do not always resolve to the first connection.
+ */
+public class LeastOutstandingSelectionStrategy implements RSocketRequesterSelectionStrategy {
+
+    @Override
+    public PooledRSocketRequester select(List<PooledRSocketRequester> candidates) {
+        int size = candidates.size();
+        int offset = ThreadLocalRandom.current().nextInt(size);
+
+        PooledRSocketRequester selected = candidates.get(offset);
+        int selectedOutstanding = selected.getOutstandingRequests();
+
+        for (int i = 1; i < size && selectedOutstanding > 0; i++) {
+            PooledRSocketRequester candidate = candidates.get((offset + i) % size);
+            int outstanding = candidate.getOutstandingRequests();
+            if (outstanding < selectedOutstanding) {
+                selected = candidate;
+                selectedOutstanding = outstanding;
+            }
+        }
+
+        return selected;
+    }
+}
@@ -0,0 +1,78 @@
+package il.fadesml.rsocket.loadbalance;
+
+import il.fadesml.rsocket.annotation.RSocketRequesterProvider;
+import io.rsocket.transport.ClientTransport;
+import jakarta.annotation.PreDestroy;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.Disposable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps {@code connectionsPerTarget} connections to every target and picks one
+ * of them for each request with the given {@link RSocketRequesterSelectionStrategy}.
+ * Generated clients call {@link #getRSocketRequester()} per request, so a subclass
+ * registered as the {@code provider} of an {@code @RSocketApi} spreads its traffic
+ * across the whole pool.
+ * <p>
+ * The builder supplier is called once per connection, every connection needs a
+ * fresh {@link RSocketRequester.Builder} because the pool installs its own
+ * connector interceptor on it.
+ */
+public class LoadBalancedRSocketRequesterProvider implements RSocketRequesterProvider, Disposable {
+    private final List<PooledRSocketRequester> pool;
+    private final RSocketRequesterSelectionStrategy strategy;
+
+    private volatile boolean disposed;
+
+    public LoadBalancedRSocketRequesterProvider(
+            Supplier<RSocketRequester.Builder> builderSupplier,
+            List<? extends ClientTransport> targets,
+            int connectionsPerTarget,
+            RSocketRequesterSelectionStrategy strategy
+    ) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one target is required.");
+        }
+        if (connectionsPerTarget < 1) {
+            throw new IllegalArgumentException("connectionsPerTarget must be positive.");
+        }
+
+        List<PooledRSocketRequester> connections = new ArrayList<>(targets.size() * connectionsPerTarget);
+        for (int i = 0; i < connectionsPerTarget; i++) {
+            for (ClientTransport target : targets) {
+                connections.add(new PooledRSocketRequester(target, builderSupplier));
+            }
+        }
+
+        this.pool = Collections.unmodifiableList(connections);
+        this.strategy = strategy;
+    }
+
+    @Override
+    public RSocketRequester getRSocketRequester() {
+        if (disposed) {
+            throw new IllegalStateException("Provider has been disposed.");
+        }
+        return strategy.select(pool).getRSocketRequester();
+    }
+
+    public List<PooledRSocketRequester> getPool() {
+        return pool;
+    }
+
+    @Override
+    @PreDestroy
+    public void dispose() {
+        disposed = true;
+        pool.forEach(PooledRSocketRequester::dispose);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
@@ -0,0 +1,181 @@
+package il.fadesml.rsocket.loadbalance;
+
+import io.rsocket.Payload;
+import io.rsocket.RSocket;
+import io.rsocket.plugins.RSocketInterceptor;
+import io.rsocket.transport.ClientTransport;
+import io.rsocket.util.RSocketProxy;
+import org.reactivestreams.Publisher;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * One pooled connection to one target. Tracks the number of in-flight requests
+ * and an exponentially weighted moving average of the time to the first element
+ * or completion, both fed by an {@link RSocketInterceptor} installed on the
+ * connection. A failed request feeds a penalty sample instead of its latency, so
+ * a node that rejects requests quickly does not look like the fastest one.
+ */
+public class PooledRSocketRequester {
+    private static final double LATENCY_DECAY = 0.2;
+    // An error costs at least this much, and never less than twice the current average
+    private static final long ERROR_PENALTY_NANOS = 1_000_000_000L;
+
+    private final ClientTransport target;
+    private final Supplier<RSocketRequester.Builder> builderSupplier;
+    private final ReentrantLock connectLock = new ReentrantLock();
+
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+    private final AtomicLong averageLatencyNanos = new AtomicLong();
+
+    private volatile RSocketRequester requester;
+
+    PooledRSocketRequester(ClientTransport target, Supplier<RSocketRequester.Builder> builderSupplier) {
+        this.target = target;
+        this.builderSupplier = builderSupplier;
+    }
+
+    public RSocketRequester getRSocketRequester() {
+        RSocketRequester current = requester;
+        if (current != null && !current.isDisposed()) {
+            return current;
+        }
+
+        connectLock.lock();
+        try {
+            current = requester;
+            if (current == null || current.isDisposed()) {
+                current = builderSupplier.get()
+                        .rsocketConnector(connector -> connector.interceptors(registry ->
+                                registry.forRequester((RSocketInterceptor) this::instrument)
+                        ))
+                        .transport(target);
+                requester = current;
+            }
+            return current;
+        } finally {
+            connectLock.unlock();
+        }
+    }
+
+    public ClientTransport getTarget() {
+        return target;
+    }
+
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    public long getAverageLatencyNanos() {
+        return averageLatencyNanos.get();
+    }
+
+    public boolean isDisposed() {
+        RSocketRequester current = requester;
+        return current != null && current.isDisposed();
+    }
+
+    void dispose() {
+        RSocketRequester current = requester;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    RSocket instrument(RSocket source) {
+        return new StatsRecordingRSocket(source);
+    }
+
+    void recordSuccess(long latencyNanos) {
+        accumulate(Math.max(1, latencyNanos));
+    }
+
+    void recordFailure(long latencyNanos) {
+        long average = averageLatencyNanos.get();
+        accumulate(Math.max(latencyNanos, Math.max(ERROR_PENALTY_NANOS, 2 * average)));
+    }
+
+    private void accumulate(long sample) {
+        averageLatencyNanos.accumulateAndGet(sample, (average, next) ->
+                average == 0 ? next : (long) (average + LATENCY_DECAY * (next - average))
+        );
+    }
+
+    private final class StatsRecordingRSocket extends RSocketProxy {
+
+        private StatsRecordingRSocket(RSocket source) {
+            super(source);
+        }
+
+        @Override
+        public Mono<Void> fireAndForget(Payload payload) {
+            return record(super.fireAndForget(payload));
+        }
+
+        @Override
+        public Mono<Payload> requestResponse(Payload payload) {
+            return record(super.requestResponse(payload));
+        }
+
+        @Override
+        public Flux<Payload> requestStream(Payload payload) {
+            return record(super.requestStream(payload));
+        }
+
+        @Override
+        public Flux<Payload> requestChannel(Publisher<Payload> payloads) {
+            return record(super.requestChannel(payloads));
+        }
+
+        private <T> Mono<T> record(Mono<T> request) {
+            return Mono.defer(() -> {
+                RequestStats stats = new RequestStats();
+                return request
+                        .doOnEach(stats::onSignal)
+                        .doFinally(signal -> stats.onFinally());
+            });
+        }
+
+        private <T> Flux<T> record(Flux<T> request) {
+            return Flux.defer(() -> {
+                RequestStats stats = new RequestStats();
+                return request
+                        .doOnEach(stats::onSignal)
+                        .doFinally(signal -> stats.onFinally());
+            });
+        }
+    }
+
+    private final class RequestStats {
+        private final long startNanos = System.nanoTime();
+        private boolean latencyRecorded;
+
+        private RequestStats() {
+            outstandingRequests.incrementAndGet();
+        }
+
+        // Only the first element or terminal signal counts, cancellations record nothing
+        private void onSignal(Signal<?> signal) {
+            if (latencyRecorded || signal.isOnSubscribe()) {
+                return;
+            }
+            latencyRecorded = true;
+            if (signal.isOnError()) {
+                recordFailure(System.nanoTime() - startNanos);
+            } else {
+                recordSuccess(System.nanoTime() - startNanos);
+            }
+        }
+
+        private void onFinally() {
+            outstandingRequests.decrementAndGet();
+        }
+    }
+}
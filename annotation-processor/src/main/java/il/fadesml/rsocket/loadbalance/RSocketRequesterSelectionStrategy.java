@@ -0,0 +1,19 @@
+package il.fadesml.rsocket.loadbalance;
+
+import java.util.List;
+
+public interface RSocketRequesterSelectionStrategy {
+    PooledRSocketRequester select(List<PooledRSocketRequester> candidates);
+
+    static RSocketRequesterSelectionStrategy roundRobin() {
+        return new RoundRobinSelectionStrategy();
+    }
+
+    static RSocketRequesterSelectionStrategy leastOutstanding() {
+        return new LeastOutstandingSelectionStrategy();
+    }
+
+    static RSocketRequesterSelectionStrategy latencyWeighted() {
+        return new LatencyWeightedSelectionStrategy();
+    }
+}
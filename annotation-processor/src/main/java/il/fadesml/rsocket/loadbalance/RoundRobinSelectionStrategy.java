@@ -0,0 +1,13 @@
+package il.fadesml.rsocket.loadbalance;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoundRobinSelectionStrategy implements RSocketRequesterSelectionStrategy {
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public PooledRSocketRequester select(List<PooledRSocketRequester> candidates) {
+        return candidates.get((next.getAndIncrement() & Integer.MAX_VALUE) % candidates.size());
+    }
+}
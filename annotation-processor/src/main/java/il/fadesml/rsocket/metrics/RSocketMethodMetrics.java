@@ -0,0 +1,92 @@
+package il.fadesml.rsocket.metrics;
+
+import il.fadesml.rsocket.constant.RSocketMethodType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meters of one generated client method, created once when the client is
+ * constructed. Latency is recorded per outcome, {@code success}, {@code error}
+ * or {@code cancelled}; for streams it spans the whole stream.
+ */
+public class RSocketMethodMetrics {
+    public static final String REQUESTS_METRIC = "rsocket.client.requests";
+    public static final String ERRORS_METRIC = "rsocket.client.errors";
+    public static final String IN_FLIGHT_METRIC = "rsocket.client.in.flight";
+    public static final String STREAM_ELEMENTS_METRIC = "rsocket.client.stream.elements";
+
+    private final Timer successTimer;
+    private final Timer errorTimer;
+    private final Timer cancelledTimer;
+    private final Counter errorCounter;
+    private final Counter streamElementCounter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RSocketMethodMetrics(MeterRegistry registry, String client, String route, RSocketMethodType type) {
+        Tags tags = Tags.of("client", client, "route", route, "type", type.name());
+
+        this.successTimer = createTimer(registry, tags, "success");
+        this.errorTimer = createTimer(registry, tags, "error");
+        this.cancelledTimer = createTimer(registry, tags, "cancelled");
+        this.errorCounter = Counter.builder(ERRORS_METRIC)
+                .tags(tags)
+                .register(registry);
+        this.streamElementCounter = Counter.builder(STREAM_ELEMENTS_METRIC)
+                .tags(tags)
+                .register(registry);
+        Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                .tags(tags)
+                .register(registry);
+    }
+
+    public <T> Mono<T> instrument(Mono<T> source) {
+        return Mono.defer(() -> {
+            long startNanos = start();
+            return source.doFinally(signal -> stop(startNanos, signal));
+        });
+    }
+
+    public <T> Flux<T> instrumentStream(Flux<T> source) {
+        return Flux.defer(() -> {
+            long startNanos = start();
+            return source
+                    .doOnNext(element -> streamElementCounter.increment())
+                    .doFinally(signal -> stop(startNanos, signal));
+        });
+    }
+
+    private long start() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    private void stop(long startNanos, SignalType signal) {
+        inFlight.decrementAndGet();
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        switch (signal) {
+            case ON_ERROR -> {
+                errorCounter.increment();
+                errorTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            }
+            case CANCEL -> cancelledTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            default -> successTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer createTimer(MeterRegistry registry, Tags tags, String outcome) {
+        return Timer.builder(REQUESTS_METRIC)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,109 @@
+package il.fadesml.rsocket.payload;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCounted;
+import io.rsocket.Payload;
+import io.rsocket.util.ByteBufPayload;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Glue for generated raw payload methods which talk to
+ * {@link RSocketRequester#rsocketClient()} directly and skip the codecs.
+ * <p>
+ * Ownership follows the Netty convention: a buffer handed to {@code request}
+ * is released by the transport once the frame is written, and a buffer returned
+ * by {@code toByteBuf} / {@code toDataBuffer} must be released by the caller.
+ * Metadata of a {@link Payload} passed as data is replaced by the route metadata.
+ */
+public final class RSocketRawPayloads {
+    private static final NettyDataBufferFactory DATA_BUFFER_FACTORY = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+
+    private RSocketRawPayloads() {
+    }
+
+    public static <T> Mono<Payload> request(
+            Mono<T> data,
+            Function<T, ByteBuf> dataExtractor,
+            RSocketRequester requester,
+            RSocketRouteMetadata routeMetadata
+    ) {
+        return data
+                .map(item -> ByteBufPayload.create(
+                        dataExtractor.apply(item),
+                        routeMetadata.encode(requester.metadataMimeType())
+                ))
+                .doOnDiscard(Object.class, RSocketRawPayloads::release);
+    }
+
+    public static <T> Flux<Payload> requests(
+            Flux<T> data,
+            Function<T, ByteBuf> dataExtractor,
+            RSocketRequester requester,
+            RSocketRouteMetadata routeMetadata
+    ) {
+        // Only the first frame of a channel carries the route
+        return data
+                .index((index, item) -> index == 0
+                        ? ByteBufPayload.create(dataExtractor.apply(item), routeMetadata.encode(requester.metadataMimeType()))
+                        : ByteBufPayload.create(dataExtractor.apply(item)))
+                .doOnDiscard(Object.class, RSocketRawPayloads::release);
+    }
+
+    public static <R> Mono<R> response(Mono<Payload> response, Function<Payload, R> dataExtractor) {
+        return response
+                .map(dataExtractor)
+                .doOnDiscard(Object.class, RSocketRawPayloads::release);
+    }
+
+    public static <R> Flux<R> responses(Flux<Payload> responses, Function<Payload, R> dataExtractor) {
+        return responses
+                .map(dataExtractor)
+                .doOnDiscard(Object.class, RSocketRawPayloads::release);
+    }
+
+    public static ByteBuf fromByteBuf(ByteBuf data) {
+        return data;
+    }
+
+    public static ByteBuf fromDataBuffer(DataBuffer data) {
+        return NettyDataBufferFactory.toByteBuf(data);
+    }
+
+    public static ByteBuf fromPayload(Payload payload) {
+        try {
+            return payload.sliceData().retain();
+        } finally {
+            payload.release();
+        }
+    }
+
+    public static ByteBuf toByteBuf(Payload payload) {
+        return fromPayload(payload);
+    }
+
+    public static DataBuffer toDataBuffer(Payload payload) {
+        return DATA_BUFFER_FACTORY.wrap(fromPayload(payload));
+    }
+
+    public static Payload toPayload(Payload payload) {
+        return payload;
+    }
+
+    private static void release(Object discarded) {
+        if (discarded instanceof ReferenceCounted referenceCounted) {
+            if (referenceCounted.refCnt() > 0) {
+                referenceCounted.release();
+            }
+        } else if (discarded instanceof DataBuffer dataBuffer) {
+            DataBufferUtils.release(dataBuffer);
+        }
+    }
+}
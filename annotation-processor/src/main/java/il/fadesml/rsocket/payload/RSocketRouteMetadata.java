@@ -0,0 +1,83 @@
+package il.fadesml.rsocket.payload;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.rsocket.metadata.CompositeMetadataCodec;
+import io.rsocket.metadata.TaggingMetadataCodec;
+import io.rsocket.metadata.WellKnownMimeType;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Collections;
+
+/**
+ * Routing metadata of one route, encoded once per metadata mime type into an
+ * unreleasable buffer. Every frame gets a duplicate of it, so static routes held
+ * in a constant cost no encoding and no allocation per request.
+ */
+public final class RSocketRouteMetadata {
+    private static final ByteBufAllocator ALLOCATOR = UnpooledByteBufAllocator.DEFAULT;
+    private static final MimeType COMPOSITE_METADATA =
+            MimeTypeUtils.parseMimeType(WellKnownMimeType.MESSAGE_RSOCKET_COMPOSITE_METADATA.getString());
+    private static final MimeType ROUTING_METADATA =
+            MimeTypeUtils.parseMimeType(WellKnownMimeType.MESSAGE_RSOCKET_ROUTING.getString());
+
+    private final String route;
+
+    private volatile ByteBuf compositeMetadata;
+    private volatile ByteBuf routingMetadata;
+
+    public RSocketRouteMetadata(String route) {
+        this.route = route;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public ByteBuf encode(MimeType metadataMimeType) {
+        if (COMPOSITE_METADATA.equalsTypeAndSubtype(metadataMimeType)) {
+            ByteBuf encoded = compositeMetadata;
+            if (encoded == null) {
+                encoded = Unpooled.unreleasableBuffer(encodeComposite());
+                compositeMetadata = encoded;
+            }
+            return encoded.duplicate();
+        }
+
+        if (ROUTING_METADATA.equalsTypeAndSubtype(metadataMimeType)) {
+            ByteBuf encoded = routingMetadata;
+            if (encoded == null) {
+                encoded = Unpooled.unreleasableBuffer(encodeRouting());
+                routingMetadata = encoded;
+            }
+            return encoded.duplicate();
+        }
+
+        throw new IllegalStateException(
+                "Raw payload routes need composite or routing metadata, but the requester uses " + metadataMimeType
+        );
+    }
+
+    private ByteBuf encodeComposite() {
+        CompositeByteBuf composite = ALLOCATOR.compositeBuffer();
+        try {
+            CompositeMetadataCodec.encodeAndAddMetadata(
+                    composite,
+                    ALLOCATOR,
+                    WellKnownMimeType.MESSAGE_RSOCKET_ROUTING,
+                    encodeRouting()
+            );
+            return Unpooled.copiedBuffer(composite);
+        } finally {
+            composite.release();
+        }
+    }
+
+    private ByteBuf encodeRouting() {
+        return TaggingMetadataCodec.createTaggingContent(ALLOCATOR, Collections.singletonList(route));
+    }
+}
@@ -3,14 +3,58 @@ package il.fadesml.rsocket.processor;
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.*;
 import il.fadesml.rsocket.annotation.RSocketApi;
+import il.fadesml.rsocket.annotation.RSocketBatch;
+import il.fadesml.rsocket.annotation.RSocketCacheable;
+import il.fadesml.rsocket.annotation.RSocketCircuitBreaker;
+import il.fadesml.rsocket.annotation.RSocketCompression;
+import il.fadesml.rsocket.annotation.RSocketConcurrencyLimit;
+import il.fadesml.rsocket.annotation.RSocketCoalesce;
+import il.fadesml.rsocket.annotation.RSocketFlowControl;
+import il.fadesml.rsocket.annotation.RSocketLane;
+import il.fadesml.rsocket.annotation.RSocketLease;
+import il.fadesml.rsocket.annotation.RSocketMetadata;
+import il.fadesml.rsocket.annotation.RSocketResume;
+import il.fadesml.rsocket.annotation.RSocketRetry;
+import il.fadesml.rsocket.annotation.RSocketTimeout;
+import il.fadesml.rsocket.batch.RSocketRequestBatcher;
+import il.fadesml.rsocket.cache.RSocketResponseCache;
+import il.fadesml.rsocket.coalesce.RSocketRequestCoalescer;
+import il.fadesml.rsocket.coalesce.RSocketRequestKey;
+import il.fadesml.rsocket.compression.RSocketCompressionInterceptor;
+import il.fadesml.rsocket.compression.RSocketPayloadCompression;
+import il.fadesml.rsocket.constant.RSocketCacheEviction;
 import il.fadesml.rsocket.constant.RSocketMethodType;
+import il.fadesml.rsocket.payload.RSocketRawPayloads;
+import il.fadesml.rsocket.payload.RSocketRouteMetadata;
+import il.fadesml.rsocket.requester.CachingRSocketRequesterProvider;
+import il.fadesml.rsocket.requester.RSocketRouteVariables;
+import il.fadesml.rsocket.resilience.RSocketClientCircuitBreaker;
+import il.fadesml.rsocket.resilience.RSocketClientConcurrencyLimiter;
+import il.fadesml.rsocket.resilience.RSocketStreamRetry;
+import io.netty.buffer.ByteBuf;
+import io.rsocket.Payload;
+import io.rsocket.core.Resume;
+import io.rsocket.resume.InMemoryResumableFramesStore;
+import jakarta.annotation.PreDestroy;
 import lombok.SneakyThrows;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.rsocket.RSocketConnectorConfigurer;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.annotation.ConnectMapping;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 import il.fadesml.rsocket.constant.RSocketAnnotationProcessorConstant;
 
 import javax.annotation.processing.*;
@@ -18,13 +62,23 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.PrintWriter;
 import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -33,6 +87,27 @@ import java.util.stream.Collectors;
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
 @AutoService(Processor.class)
 public class RSocketApiAnnotationProcessor extends AbstractProcessor {
+    private static final String AUTO_CONFIGURATION_OPTION = "il.fadesml.rsocket.autoConfiguration";
+    private static final String AUTO_CONFIGURATION_IMPORTS =
+            "META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports";
+
+    // Generated auto-configurations and their interfaces, written into one imports file in the last round
+    private final Map<String, TypeElement> autoConfigurations = new LinkedHashMap<>();
+
+    // Gradle reads the incremental mode from here, the shared imports file makes the processor aggregating
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(
+                AUTO_CONFIGURATION_OPTION,
+                isAutoConfiguration()
+                        ? "org.gradle.annotation.processing.aggregating"
+                        : "org.gradle.annotation.processing.isolating"
+        );
+    }
+
+    private boolean isAutoConfiguration() {
+        return processingEnv != null && Boolean.parseBoolean(processingEnv.getOptions().get(AUTO_CONFIGURATION_OPTION));
+    }
 
     @Override
     @SneakyThrows
@@ -48,6 +123,18 @@ public class RSocketApiAnnotationProcessor extends AbstractProcessor {
             }
         }
 
+        if (roundEnv.processingOver() && !autoConfigurations.isEmpty()) {
+            FileObject importsFile = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT,
+                    "",
+                    AUTO_CONFIGURATION_IMPORTS,
+                    autoConfigurations.values().toArray(Element[]::new)
+            );
+            try (PrintWriter out = new PrintWriter(importsFile.openWriter())) {
+                autoConfigurations.keySet().forEach(out::println);
+            }
+        }
+
         return true;
     }
 
@@ -55,83 +142,115 @@ public class RSocketApiAnnotationProcessor extends AbstractProcessor {
     private final String fluxClassName = Flux.class.getName();
     private final String voidClassName = Void.class.getName();
 
+    private static final String DEFAULT_REQUESTER_PROVIDER_FIELD = "provider";
+    private static final String CACHING_REQUESTER_PROVIDER_FIELD = "cachingProvider";
+    private static final String CIRCUIT_BREAKER_FIELD = "circuitBreaker";
+    private static final String CONCURRENCY_LIMITER_FIELD = "concurrencyLimiter";
+    private static final String CONNECTOR_CONFIGURER_FIELD = "RSOCKET_CONNECTOR_CONFIGURER";
+
+    // Referenced by name, Micrometer is an optional dependency and not on the processor path
+    private static final ClassName METER_REGISTRY_CLASS_NAME = ClassName.get("io.micrometer.core.instrument", "MeterRegistry");
+    private static final ClassName RSOCKET_METHOD_METRICS_CLASS_NAME = ClassName.get("il.fadesml.rsocket.metrics", "RSocketMethodMetrics");
+
     private RSocketMethodType defineRSocketMethodType(
-            String inputClassName,
-            String outputClassName,
-            String outputClassGenericTypeClassName
+            TypeMirror inputType,
+            TypeMirror outputType
     ) {
-        if (isFluxClass(inputClassName) && isFluxClass(outputClassName)) {
+        TypeMirror outputElementType = getPayloadType(outputType);
+
+        if (inputType == null) {
+            if (isMonoType(outputType) && isVoidType(outputElementType)) {
+                return RSocketMethodType.METADATA_PUSH;
+            }
+            return null;
+        }
+
+        if (isFluxType(inputType) && isFluxType(outputType)) {
             return RSocketMethodType.REQUEST_CHANNEL;
-        } else if (isMonoClass(inputClassName) && isMonoClass(outputClassName) && isVoidClass(outputClassGenericTypeClassName)) {
+        } else if (isMonoType(inputType) && isMonoType(outputType) && isVoidType(outputElementType)) {
             return RSocketMethodType.FIRE_AND_FORGET;
-        } else if (isMonoClass(inputClassName) && isMonoClass(outputClassName) && !isVoidClass(outputClassGenericTypeClassName)) {
+        } else if (isMonoType(inputType) && isMonoType(outputType) && !isVoidType(outputElementType)) {
             return RSocketMethodType.REQUEST_RESPONSE;
-        } else if (isMonoClass(inputClassName) && isFluxClass(outputClassName)) {
+        } else if (isMonoType(inputType) && isFluxType(outputType)) {
             return RSocketMethodType.REQUEST_STREAM;
         } else {
-            throw new IllegalArgumentException("Unable to determine RSocket method type for the given input and output types.");
+            return null;
         }
     }
 
-    public boolean isMonoClass(String className) {
-        return className.startsWith(monoClassName);
+    public boolean isMonoType(TypeMirror type) {
+        return isDeclaredTypeOf(type, monoClassName);
     }
 
-    public boolean isFluxClass(String className) {
-        return className.startsWith(fluxClassName);
+    public boolean isFluxType(TypeMirror type) {
+        return isDeclaredTypeOf(type, fluxClassName);
     }
 
-    public boolean isVoidClass(String className) {
-        return className.startsWith(voidClassName);
+    public boolean isVoidType(TypeMirror type) {
+        return isDeclaredTypeOf(type, voidClassName);
     }
 
+    private boolean isDeclaredTypeOf(TypeMirror type, String className) {
+        return type instanceof DeclaredType declaredType
+                && ((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(className);
+    }
 
-    private AnnotationMirror getAnnotationFromMirrorList(
-            List<? extends javax.lang.model.element.AnnotationMirror> list,
-            Class<? extends Annotation> annotationClass
-    ) {
-        return list.stream()
-                .filter(mirror -> mirror.getAnnotationType().toString().equals(annotationClass.getName()))
-                .findFirst()
-                .orElseThrow();
+    // Element type of Mono<T> / Flux<T>, wildcards resolve to their upper bound
+    private TypeMirror getPayloadType(TypeMirror publisherType) {
+        TypeMirror argument = getGenericTypeArguments(publisherType).get(0);
+        if (argument instanceof WildcardType wildcardType) {
+            return wildcardType.getExtendsBound() != null
+                    ? wildcardType.getExtendsBound()
+                    : processingEnv.getElementUtils().getTypeElement(Object.class.getName()).asType();
+        }
+        return argument;
     }
 
+    private AnnotationMirror getAnnotationMirror(Element element, Class<? extends Annotation> annotationClass) {
+        String annotationName = annotationClass.getName();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationElement.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
 
-    @SneakyThrows
-    private String getMessageMappingRouteFromAnnotationMirror(
-            @DestinationVariable AnnotationMirror mirror
-    ) {
-        return mirror.getElementValues().entrySet().stream()
-                .filter(entry -> entry.getKey().toString().equals("value()"))
-                .map(item -> item.getValue().getValue().toString())
-                .findFirst()
-                .orElseThrow();
+    // All attributes of the annotation by name, defaults included, read once per interface
+    private Map<String, AnnotationValue> getAnnotationValues(AnnotationMirror mirror) {
+        Map<String, AnnotationValue> values = new HashMap<>();
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror)
+                .forEach((attribute, value) -> values.put(attribute.getSimpleName().toString(), value));
+        return values;
     }
 
-    @SneakyThrows
-    private String getRSocketApiProviderClassNameFromAnnotationMirror(
-            AnnotationMirror mirror
-    ) {
-        return mirror.getElementValues().entrySet().stream()
-                .filter(entry -> entry.getKey().toString().equals("provider()"))
-                .map(item -> item.getValue().getValue().toString())
-                .findFirst()
-                .orElseThrow();
+    private boolean getBooleanValue(Map<String, AnnotationValue> values, String attributeName) {
+        return (Boolean) values.get(attributeName).getValue();
     }
 
-    @SneakyThrows
-    private Boolean getRSocketApiGenerateAsComponentBooleanValueFromAnnotationMirror(
-            AnnotationMirror mirror
-    ) {
-        return mirror.getElementValues().entrySet().stream()
-                .filter(entry -> entry.getKey().toString().equals("generateAsComponent()"))
-                .map(item -> item.getValue().getValue().toString())
-                .findFirst()
-                .map(Boolean::valueOf)
-                .orElseThrow();
+    private String getMappingRoute(ExecutableElement methodElement, RSocketMethodType rsocketMethodType) {
+        String[] routes;
+        if (rsocketMethodType == RSocketMethodType.METADATA_PUSH) {
+            ConnectMapping connectMapping = methodElement.getAnnotation(ConnectMapping.class);
+            routes = connectMapping != null ? connectMapping.value() : null;
+        } else {
+            MessageMapping messageMapping = methodElement.getAnnotation(MessageMapping.class);
+            routes = messageMapping != null ? messageMapping.value() : null;
+        }
+
+        if (routes == null || routes.length == 0) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    rsocketMethodType == RSocketMethodType.METADATA_PUSH
+                            ? "METADATA_PUSH methods need a @ConnectMapping route"
+                            : "RSocket methods need a @MessageMapping route",
+                    methodElement
+            );
+            return null;
+        }
+        return routes[0];
     }
-    
-    
 
     @SneakyThrows
     private void generateRSocketApiClient(TypeElement interfaceElement) {
@@ -141,7 +260,9 @@ public class RSocketApiAnnotationProcessor extends AbstractProcessor {
         String implementationClassSimpleName = interfaceName + "Client";
         String implementationClassName = packageName + "." + implementationClassSimpleName;
 
-        JavaFileObject builderFile = processingEnv.getFiler().createSourceFile(implementationClassName);
+        // The interface is the only originating element, which keeps the processor isolating
+        JavaFileObject builderFile = processingEnv.getFiler().createSourceFile(implementationClassName, interfaceElement);
+        resetFieldNames();
 
         //Core Class
         TypeSpec.Builder typeSpecBuilder = createRSocketApiClientTypeSpec(
@@ -156,23 +277,111 @@ public class RSocketApiAnnotationProcessor extends AbstractProcessor {
                 .addAnnotation(createGeneratedAnnotation());
 
 
-        
-        AnnotationMirror rsocketApiAnnotationMirror = getAnnotationFromMirrorList(
-                interfaceElement.getAnnotationMirrors(),
-                RSocketApi.class
+        Map<String, AnnotationValue> rsocketApiValues = getAnnotationValues(
+                getAnnotationMirror(interfaceElement, RSocketApi.class)
         );
 
-        if (getRSocketApiGenerateAsComponentBooleanValueFromAnnotationMirror(rsocketApiAnnotationMirror)) {
+        boolean generateAsComponent = getBooleanValue(rsocketApiValues, "generateAsComponent");
+        boolean generateConfiguration = getBooleanValue(rsocketApiValues, "generateConfiguration");
+        if (generateAsComponent && generateConfiguration) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "generateConfiguration declares the client beans itself and can not be combined with generateAsComponent",
+                    interfaceElement
+            );
+            return;
+        }
+        if (generateAsComponent) {
             typeSpecBuilder.addAnnotation(
                     createSpringComponentAnnotation()
             );
         }
 
         //Fields and Constructors
-        String apiClientConfigClassName = getRSocketApiProviderClassNameFromAnnotationMirror(rsocketApiAnnotationMirror);
+        TypeName apiClientConfigType = TypeName.get((TypeMirror) rsocketApiValues.get("provider").getValue());
+        boolean cacheRequester = getBooleanValue(rsocketApiValues, "cacheRequester");
+        String requesterProviderField = cacheRequester ? CACHING_REQUESTER_PROVIDER_FIELD : DEFAULT_REQUESTER_PROVIDER_FIELD;
+        CodeBlock requesterCall = CodeBlock.of("$N.getRSocketRequester()", requesterProviderField);
+
+        MethodSpec.Builder constructorBuilder = createConstructor(apiClientConfigType);
         typeSpecBuilder
-                .addField(createConfigField(apiClientConfigClassName))
-                .addMethod(createConstructor(apiClientConfigClassName));
+                .addField(createConfigField(apiClientConfigType));
+
+        if (cacheRequester) {
+            typeSpecBuilder.addField(createCachingProviderField());
+            constructorBuilder.addStatement("this.cachingProvider = new $T(provider)", CachingRSocketRequesterProvider.class);
+        }
+
+        boolean metrics = getBooleanValue(rsocketApiValues, "metrics");
+        if (metrics) {
+            constructorBuilder.addParameter(METER_REGISTRY_CLASS_NAME, "meterRegistry");
+        }
+
+        //Resilience, one breaker and one limiter shared by all methods of the client
+        RSocketCircuitBreaker circuitBreaker = interfaceElement.getAnnotation(RSocketCircuitBreaker.class);
+        RSocketConcurrencyLimit concurrencyLimit = interfaceElement.getAnnotation(RSocketConcurrencyLimit.class);
+        if (!isValidClientResilience(interfaceElement, circuitBreaker, concurrencyLimit)) {
+            return;
+        }
+
+        if (circuitBreaker != null) {
+            typeSpecBuilder.addField(
+                    FieldSpec.builder(RSocketClientCircuitBreaker.class, CIRCUIT_BREAKER_FIELD, Modifier.PRIVATE, Modifier.FINAL)
+                            .initializer(
+                                    "new $T($S, $L, $L, $L, $LL)",
+                                    RSocketClientCircuitBreaker.class,
+                                    interfaceName,
+                                    circuitBreaker.failureRateThreshold(),
+                                    circuitBreaker.minimumCalls(),
+                                    circuitBreaker.windowSize(),
+                                    circuitBreaker.openMillis()
+                            )
+                            .build()
+            );
+        }
+        if (concurrencyLimit != null) {
+            typeSpecBuilder.addField(
+                    FieldSpec.builder(RSocketClientConcurrencyLimiter.class, CONCURRENCY_LIMITER_FIELD, Modifier.PRIVATE, Modifier.FINAL)
+                            .initializer(
+                                    "new $T($S, $L)",
+                                    RSocketClientConcurrencyLimiter.class,
+                                    interfaceName,
+                                    concurrencyLimit.maxConcurrent()
+                            )
+                            .build()
+            );
+        }
+
+        //Session, resumption and leases live on the connector the provider builds
+        RSocketResume resume = interfaceElement.getAnnotation(RSocketResume.class);
+        RSocketLease lease = interfaceElement.getAnnotation(RSocketLease.class);
+        if (!isValidClientSession(interfaceElement, resume, lease)) {
+            return;
+        }
+
+        //Compression is negotiated per exchange, the connector only needs the requester interceptor once
+        RSocketCompression interfaceCompression = interfaceElement.getAnnotation(RSocketCompression.class);
+        if (interfaceCompression != null && !isValidCompression(interfaceElement, interfaceCompression)) {
+            return;
+        }
+        boolean compression = interfaceCompression != null || interfaceElement.getEnclosedElements().stream()
+                .anyMatch(element -> element.getAnnotation(RSocketCompression.class) != null);
+
+        if (resume != null || lease != null || compression) {
+            typeSpecBuilder.addField(createConnectorConfigurerField(resume, lease, compression));
+        }
+
+        List<TypeMirror> payloadTypes = new ArrayList<>();
+        List<TypeMirror> metadataTypes = new ArrayList<>();
+        Map<String, String> mimeTypeConstants = new HashMap<>();
+        List<RSocketBlockingClientGenerator.BlockingMethod> blockingMethods = new ArrayList<>();
+        boolean generateServerAdapter = getBooleanValue(rsocketApiValues, "generateServerAdapter");
+        List<RSocketServerAdapterGenerator.ServerMethod> serverMethods = new ArrayList<>();
+        List<RSocketStubGenerator.StubMethod> stubMethods = new ArrayList<>();
+        Map<String, String> compressionPolicyConstants = new HashMap<>();
+        Map<String, Integer> laneLimits = new HashMap<>();
+        Map<String, String> laneLimiterFields = new HashMap<>();
+        List<String> batcherFields = new ArrayList<>();
 
         //Methods
         for (Element enclosedElement : interfaceElement.getEnclosedElements()) {
@@ -181,58 +390,437 @@ public class RSocketApiAnnotationProcessor extends AbstractProcessor {
 
                 // Method information
                 String methodName = methodElement.getSimpleName().toString();
-                String methodReturnType = methodElement.getReturnType().toString();
-                String methodReturnTypeGenericType = getGenericTypeArguments(methodElement.getReturnType()).toString();
-
-                // Data parameter information
-                VariableElement dataParameter = getMethodDataParameter(methodElement);
-                String methodDataParameterName = dataParameter.getSimpleName().toString();
-                String methodDataParameterReturnType = dataParameter.asType().toString();
-                String methodDataParameterReturnTypeGenericType = getGenericTypeArguments(dataParameter.asType()).toString();
-
-                //Route information
-                String messageMappingRoute = getMessageMappingRouteFromAnnotationMirror(
-                        getAnnotationFromMirrorList(
-                                methodElement.getAnnotationMirrors(),
-                                MessageMapping.class
-                        )
-                );
+                TypeMirror methodReturnType = methodElement.getReturnType();
+                TypeMirror methodResponseType = getPayloadType(methodReturnType);
 
-                //Handle destination variables
-                List<VariableElement> methodDestinationVariables = getMethodDestinationVariables(methodElement);
+                // Parameters are classified in one pass, metadata push methods carry no data
+                MethodParameters methodParameters = classifyMethodParameters(methodElement);
+                if (methodParameters == null) {
+                    continue;
+                }
+                VariableElement dataParameter = methodParameters.data();
+                String methodDataParameterName = dataParameter != null ? dataParameter.getSimpleName().toString() : null;
+                TypeMirror methodDataParameterType = dataParameter != null ? dataParameter.asType() : null;
+                TypeMirror methodDataType = dataParameter != null ? getPayloadType(methodDataParameterType) : null;
 
                 //RSocket Method Type
                 RSocketMethodType rsocketMethodType = defineRSocketMethodType(
-                        methodDataParameterReturnType,
-                        methodReturnType,
-                        methodReturnTypeGenericType
+                        methodDataParameterType,
+                        methodReturnType
+                );
+                if (rsocketMethodType == null) {
+                    processingEnv.getMessager().printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "Unable to determine RSocket method type for the given input and output types",
+                            methodElement
+                    );
+                    continue;
+                }
+
+                //Route information, responders map metadata push with @ConnectMapping
+                String messageMappingRoute = getMappingRoute(methodElement, rsocketMethodType);
+                if (messageMappingRoute == null) {
+                    continue;
+                }
+
+                //Handle destination variables
+                List<VariableElement> methodDestinationVariables = methodParameters.destinationVariables();
+
+                //Route expression, validated against the destination variables. Batched methods send to the batch route
+                CodeBlock routeExpression = generateRouteExpression(
+                        typeSpecBuilder,
+                        methodElement,
+                        messageMappingRoute,
+                        methodDestinationVariables,
+                        methodElement.getAnnotation(RSocketBatch.class) == null
                 );
+                if (routeExpression == null) {
+                    continue;
+                }
+
+                for (TypeMirror payloadType : Arrays.asList(methodDataType, methodResponseType)) {
+                    if (payloadType != null && RawPayloadKind.of(payloadType) == null) {
+                        payloadTypes.add(payloadType);
+                    }
+                }
+
+                //Metadata entries, mime types are resolved once into static constants
+                List<CodeBlock> metadataCalls = generateRSocketRequesterMetadataCalls(
+                        typeSpecBuilder,
+                        methodParameters.metadata(),
+                        mimeTypeConstants
+                );
+                if (metadataCalls == null) {
+                    continue;
+                }
+                for (VariableElement metadataParameter : methodParameters.metadata()) {
+                    metadataTypes.add(metadataParameter.asType());
+                }
+
+                RSocketCacheable cacheable = methodElement.getAnnotation(RSocketCacheable.class);
+                RSocketBatch batch = methodElement.getAnnotation(RSocketBatch.class);
+                boolean coalesce = methodElement.getAnnotation(RSocketCoalesce.class) != null;
+                RawPayloadKind rawDataKind = methodDataType != null ? RawPayloadKind.of(methodDataType) : null;
+                RawPayloadKind rawResponseKind = RawPayloadKind.of(methodResponseType);
+                boolean rawPayload = rawDataKind != null && (rawResponseKind != null || rsocketMethodType == RSocketMethodType.FIRE_AND_FORGET);
+
+                if (!metadataCalls.isEmpty() && (cacheable != null || batch != null || coalesce || rawPayload)) {
+                    processingEnv.getMessager().printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "@RSocketMetadata is not supported together with @RSocketCacheable, @RSocketBatch, @RSocketCoalesce or raw payloads",
+                            methodElement
+                    );
+                    continue;
+                }
+                if (rsocketMethodType == RSocketMethodType.METADATA_PUSH && metadataCalls.isEmpty()) {
+                    processingEnv.getMessager().printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "METADATA_PUSH methods need at least one @RSocketMetadata parameter",
+                            methodElement
+                    );
+                    continue;
+                }
+
+                //Compression policy entry, the requester interceptor negotiates it with the responder
+                RSocketCompression methodCompression = methodElement.getAnnotation(RSocketCompression.class);
+                RSocketCompression compressionPolicy = methodCompression != null ? methodCompression : interfaceCompression;
+                boolean compressible = batch == null && !coalesce && !rawPayload && rsocketMethodType != RSocketMethodType.METADATA_PUSH;
+                if (methodCompression != null && !compressible) {
+                    processingEnv.getMessager().printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "@RSocketCompression is not supported on metadata push, @RSocketBatch, @RSocketCoalesce or raw payload methods",
+                            methodElement
+                    );
+                    continue;
+                }
+                if (methodCompression != null && !isValidCompression(methodElement, methodCompression)) {
+                    continue;
+                }
+                if (compressionPolicy != null && compressible) {
+                    String policyConstantName = compressionPolicyConstants.computeIfAbsent(
+                            compressionPolicy.thresholdBytes() + ";" + compressionPolicy.level(),
+                            key -> {
+                                String name = createUniqueFieldName(typeSpecBuilder, "COMPRESSION_POLICY");
+                                typeSpecBuilder.addField(
+                                        FieldSpec.builder(String.class, name, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                                .initializer(
+                                                        "$T.policy($L, $L)",
+                                                        RSocketPayloadCompression.class,
+                                                        compressionPolicy.thresholdBytes(),
+                                                        compressionPolicy.level()
+                                                )
+                                                .build()
+                                );
+                                return name;
+                            }
+                    );
+                    metadataCalls.add(CodeBlock.of(
+                            ".metadata($N, $N)",
+                            policyConstantName,
+                            getMimeTypeConstant(typeSpecBuilder, RSocketPayloadCompression.POLICY_MIME_TYPE, mimeTypeConstants)
+                    ));
+                }
+
+                RSocketTimeout timeout = methodElement.getAnnotation(RSocketTimeout.class);
+                RSocketRetry retry = methodElement.getAnnotation(RSocketRetry.class);
+                if (!isValidMethodResilience(methodElement, timeout, retry, rsocketMethodType, rawPayload)) {
+                    continue;
+                }
+
+                //Lane, a named requester of the provider with an in-flight limit shared by the lane
+                RSocketLane lane = methodElement.getAnnotation(RSocketLane.class);
+                CodeBlock methodRequesterCall = requesterCall;
+                String laneLimiterField = null;
+                if (lane != null) {
+                    if (!isValidLane(methodElement, lane, batch != null, laneLimits)) {
+                        continue;
+                    }
+
+                    methodRequesterCall = CodeBlock.of("$N.getRSocketRequester($S)", requesterProviderField, lane.name());
+                    if (lane.maxConcurrent() > 0) {
+                        laneLimiterField = laneLimiterFields.computeIfAbsent(lane.name(), name -> {
+                            String fieldName = createUniqueFieldName(typeSpecBuilder, name + "LaneLimiter");
+                            typeSpecBuilder.addField(
+                                    FieldSpec.builder(RSocketClientConcurrencyLimiter.class, fieldName, Modifier.PRIVATE, Modifier.FINAL)
+                                            .initializer(
+                                                    "new $T($S, $L)",
+                                                    RSocketClientConcurrencyLimiter.class,
+                                                    interfaceName + "." + name,
+                                                    lane.maxConcurrent()
+                                            )
+                                            .build()
+                            );
+                            return fieldName;
+                        });
+                    }
+                }
 
                 //Generate Method Base
                 MethodSpec.Builder methodBuilder = createMethodBase(
                         methodName,
-                        methodReturnTypeGenericType,
-                        methodDestinationVariables,
-                        methodDataParameterName,
-                        methodDataParameterReturnTypeGenericType,
+                        methodReturnType,
+                        methodElement.getParameters(),
                         rsocketMethodType
                 );
 
-                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Destination Variables Count: " + methodDestinationVariables.size());
+                //Flow control, the channel input is bounded before it reaches the requester
+                RSocketFlowControl flowControl = methodElement.getAnnotation(RSocketFlowControl.class);
+                if (flowControl != null) {
+                    if (!isValidFlowControl(methodElement, flowControl, rsocketMethodType)) {
+                        continue;
+                    }
+
+                    if (flowControl.outboundBuffer() > 0) {
+                        String outboundVariableName = createLocalVariableName(methodElement, "outbound");
+                        methodBuilder.addStatement(
+                                "$T $N = $N.onBackpressureBuffer($L, $T.$L)",
+                                TypeName.get(methodDataParameterType),
+                                outboundVariableName,
+                                methodDataParameterName,
+                                flowControl.outboundBuffer(),
+                                BufferOverflowStrategy.class,
+                                flowControl.outboundOverflow().name()
+                        );
+                        methodDataParameterName = outboundVariableName;
+                    }
+                }
+
+                //Response cache, hits skip the request but still pass the metrics decorator
+                ResponseCache responseCache = null;
+                if (cacheable != null) {
+                    if (rsocketMethodType != RSocketMethodType.REQUEST_RESPONSE) {
+                        processingEnv.getMessager().printMessage(
+                                Diagnostic.Kind.ERROR,
+                                "@RSocketCacheable is only supported on REQUEST_RESPONSE methods",
+                                methodElement
+                        );
+                        continue;
+                    }
+
+                    if (messageMappingRoute.indexOf('{') >= 0) {
+                        String routeVariableName = createLocalVariableName(methodElement, "route");
+                        methodBuilder.addStatement("$T $N = $L", String.class, routeVariableName, routeExpression);
+                        routeExpression = CodeBlock.of("$N", routeVariableName);
+                    }
+
+                    responseCache = generateResponseCache(
+                            typeSpecBuilder,
+                            methodBuilder,
+                            methodElement,
+                            cacheable,
+                            routeExpression,
+                            methodResponseType
+                    );
+                }
+
+                CodeBlock responseExpression;
+                if (coalesce && (rsocketMethodType != RSocketMethodType.REQUEST_RESPONSE || batch != null || rawPayload)) {
+                    processingEnv.getMessager().printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "@RSocketCoalesce is only supported on codec based REQUEST_RESPONSE methods without @RSocketBatch",
+                            methodElement
+                    );
+                    continue;
+                }
+
+                if (batch != null) {
+                    responseExpression = generateBatchedCode(
+                            typeSpecBuilder,
+                            constructorBuilder,
+                            requesterProviderField,
+                            methodElement,
+                            batch,
+                            dataParameter,
+                            methodResponseType,
+                            methodDestinationVariables,
+                            rsocketMethodType,
+                            batcherFields
+                    );
+                } else if (rawPayload) {
+                    responseExpression = generateRawPayloadCode(
+                            typeSpecBuilder,
+                            methodRequesterCall,
+                            methodElement,
+                            messageMappingRoute,
+                            routeExpression,
+                            methodBuilder,
+                            methodDataParameterName,
+                            rawDataKind,
+                            rawResponseKind,
+                            rsocketMethodType
+                    );
+                } else if (coalesce) {
+                    responseExpression = generateCoalescedCode(
+                            typeSpecBuilder,
+                            methodRequesterCall,
+                            routeExpression,
+                            methodElement,
+                            methodDataParameterName,
+                            methodDataType,
+                            methodResponseType
+                    );
+                } else if (rsocketMethodType == RSocketMethodType.METADATA_PUSH) {
+                    responseExpression = generateMetadataPushCode(methodRequesterCall, routeExpression, metadataCalls);
+                } else {
+                    //Type tokens, generic payloads get a precomputed ParameterizedTypeReference
+                    CodeBlock.Builder dataCallBuilder = CodeBlock.builder();
+                    for (CodeBlock metadataCall : metadataCalls) {
+                        dataCallBuilder.add("$L\n", metadataCall);
+                    }
+                    CodeBlock dataCall = dataCallBuilder
+                            .add(generateRSocketRequesterDataCall(
+                                    typeSpecBuilder,
+                                    methodElement,
+                                    CodeBlock.of("$N", methodDataParameterName),
+                                    methodDataType
+                            ))
+                            .build();
+                    CodeBlock responseTypeToken = generateTypeToken(
+                            typeSpecBuilder,
+                            methodElement,
+                            methodResponseType,
+                            "_RESPONSE_TYPE"
+                    );
+
+                    responseExpression = switch (rsocketMethodType) {
+                        case REQUEST_RESPONSE ->
+                                generateDefaultCode(methodRequesterCall, routeExpression, dataCall, responseTypeToken, MethodReturnCoreType.MONO);
+                        case FIRE_AND_FORGET ->
+                                generateFireAndForgetCode(methodRequesterCall, routeExpression, dataCall);
+                        case REQUEST_STREAM ->
+                                generateDefaultCode(methodRequesterCall, routeExpression, dataCall, responseTypeToken, MethodReturnCoreType.FLUX);
+                        case REQUEST_CHANNEL ->
+                                generateDefaultCode(methodRequesterCall, routeExpression, dataCall, responseTypeToken, MethodReturnCoreType.FLUX);
+                        case METADATA_PUSH ->
+                                throw new IllegalStateException("Metadata push is generated without a data call");
+                    };
+                }
+
+                if (responseExpression == null) {
+                    continue;
+                }
+
+                //Decorators, applied from the innermost to the outermost
+                if (flowControl != null) {
+                    responseExpression = generateFlowControlDecorator(flowControl, responseExpression);
+                }
+                responseExpression = generateResilienceDecorators(
+                        typeSpecBuilder,
+                        methodElement,
+                        rsocketMethodType,
+                        timeout,
+                        retry,
+                        circuitBreaker != null,
+                        concurrencyLimit,
+                        responseExpression
+                );
+                if (laneLimiterField != null) {
+                    boolean stream = rsocketMethodType == RSocketMethodType.REQUEST_STREAM || rsocketMethodType == RSocketMethodType.REQUEST_CHANNEL;
+                    responseExpression = CodeBlock.of("$N.$L($L)", laneLimiterField, stream ? "limitStream" : "limit", responseExpression);
+                }
+                if (responseCache != null) {
+                    responseExpression = CodeBlock.of(
+                            "$N != null ? $T.just($N) : $N.load($L, $L)",
+                            responseCache.cachedVariableName(),
+                            Mono.class,
+                            responseCache.cachedVariableName(),
+                            responseCache.fieldName(),
+                            routeExpression,
+                            responseExpression
+                    );
+                }
+                if (metrics) {
+                    responseExpression = generateMetricsDecorator(
+                            typeSpecBuilder,
+                            constructorBuilder,
+                            interfaceName,
+                            methodElement,
+                            messageMappingRoute,
+                            rsocketMethodType,
+                            responseExpression
+                    );
+                }
 
                 typeSpecBuilder.addMethod(
-                        switch (rsocketMethodType) {
-                            case REQUEST_RESPONSE ->
-                                    generateDefaultCode(messageMappingRoute, methodBuilder, methodDestinationVariables, methodDataParameterName, methodReturnTypeGenericType,MethodReturnCoreType.MONO);
-                            case FIRE_AND_FORGET ->
-                                    generateFireAndForgetCode(messageMappingRoute, methodBuilder, methodDestinationVariables, methodDataParameterName);
-                            case REQUEST_STREAM ->
-                                    generateDefaultCode(messageMappingRoute, methodBuilder, methodDestinationVariables, methodDataParameterName, methodReturnTypeGenericType, MethodReturnCoreType.FLUX);
-                            case REQUEST_CHANNEL ->
-                                    generateDefaultCode(messageMappingRoute, methodBuilder, methodDestinationVariables, methodDataParameterName, methodReturnTypeGenericType, MethodReturnCoreType.FLUX);
-                        }
+                        methodBuilder
+                                .addStatement("return $L", responseExpression)
+                                .build()
                 );
+                blockingMethods.add(new RSocketBlockingClientGenerator.BlockingMethod(
+                        methodElement,
+                        rsocketMethodType,
+                        dataParameter,
+                        methodDataType,
+                        methodResponseType
+                ));
+                stubMethods.add(new RSocketStubGenerator.StubMethod(
+                        methodElement,
+                        rsocketMethodType,
+                        messageMappingRoute,
+                        dataParameter
+                ));
+
+                //Server adapter, raw payload methods keep their hand written responder
+                if (generateServerAdapter && rawPayload) {
+                    processingEnv.getMessager().printMessage(
+                            Diagnostic.Kind.WARNING,
+                            "Raw payload methods are not routed by the server adapter, the method is left to the fallback handler",
+                            methodElement
+                    );
+                } else if (generateServerAdapter) {
+                    serverMethods.add(new RSocketServerAdapterGenerator.ServerMethod(
+                            methodElement,
+                            rsocketMethodType,
+                            messageMappingRoute,
+                            dataParameter,
+                            methodDataType,
+                            methodResponseType,
+                            orderDestinationVariables(messageMappingRoute, methodDestinationVariables),
+                            methodParameters.metadata()
+                    ));
+                }
+            }
+        }
+
+        typeSpecBuilder.addMethod(constructorBuilder.build());
+        if (!batcherFields.isEmpty()) {
+            generateBatcherDisposal(typeSpecBuilder, batcherFields);
+        }
+
+        if (getBooleanValue(rsocketApiValues, "generateCodecs")) {
+            new RSocketBinaryCodecGenerator(processingEnv).generate(interfaceElement, payloadTypes);
+        }
+
+        if (getBooleanValue(rsocketApiValues, "generateBlockingClient")) {
+            new RSocketBlockingClientGenerator(processingEnv).generate(interfaceElement, blockingMethods, generateAsComponent);
+        }
 
+        if (generateServerAdapter) {
+            new RSocketServerAdapterGenerator(processingEnv).generate(interfaceElement, serverMethods);
+        }
+
+        if (getBooleanValue(rsocketApiValues, "generateStub")) {
+            new RSocketStubGenerator(processingEnv).generate(interfaceElement, stubMethods);
+        }
+
+        if (generateConfiguration) {
+            List<TypeMirror> bindingTypes = new ArrayList<>(payloadTypes);
+            bindingTypes.addAll(metadataTypes);
+
+            boolean autoConfiguration = isAutoConfiguration();
+            String configurationName = new RSocketConfigurationGenerator(processingEnv).generate(
+                    interfaceElement,
+                    new RSocketConfigurationGenerator.ClientWiring(
+                            apiClientConfigType,
+                            metrics,
+                            getBooleanValue(rsocketApiValues, "generateCodecs"),
+                            getBooleanValue(rsocketApiValues, "generateBlockingClient"),
+                            autoConfiguration
+                    ),
+                    bindingTypes
+            );
+            if (autoConfiguration) {
+                autoConfigurations.put(configurationName, interfaceElement);
             }
         }
 
@@ -242,14 +830,13 @@ public class RSocketApiAnnotationProcessor extends AbstractProcessor {
         }
     }
 
-    private MethodSpec.Builder generateMethodDestinationVariables(MethodSpec.Builder builder, List<VariableElement> variableElements) {
+    private MethodSpec.Builder generateMethodParameters(MethodSpec.Builder builder, List<? extends VariableElement> variableElements) {
         for (VariableElement variableElement : variableElements) {
             String elementName = variableElement.getSimpleName().toString();
-            String elementType = variableElement.asType().toString();
 
             builder = builder
                     .addParameter(
-                            getTypeClass(elementType),
+                            TypeName.get(variableElement.asType()),
                             elementName
                     );
         }
@@ -257,149 +844,954 @@ public class RSocketApiAnnotationProcessor extends AbstractProcessor {
         return builder;
     }
 
-    private VariableElement getMethodDataParameter(ExecutableElement methodElement) {
-        return methodElement.getParameters().stream()
-                .filter(parameter ->
-                        isMonoClass(parameter.asType().toString()) ||
-                        isFluxClass(parameter.asType().toString())
-                )
-                .findFirst()
-                .orElseThrow();
-    }
+    private record MethodParameters(
+            VariableElement data,
+            List<VariableElement> destinationVariables,
+            List<VariableElement> metadata
+    ) { }
+
+    // Returns null after reporting a parameter the generated client would otherwise ignore
+    private MethodParameters classifyMethodParameters(ExecutableElement methodElement) {
+        VariableElement data = null;
+        List<VariableElement> destinationVariables = new ArrayList<>();
+        List<VariableElement> metadata = new ArrayList<>();
+
+        for (VariableElement parameter : methodElement.getParameters()) {
+            String error = null;
+            if (parameter.getAnnotation(DestinationVariable.class) != null) {
+                destinationVariables.add(parameter);
+            } else if (parameter.getAnnotation(RSocketMetadata.class) != null) {
+                metadata.add(parameter);
+            } else if (!isMonoType(parameter.asType()) && !isFluxType(parameter.asType())) {
+                error = "Parameter '" + parameter.getSimpleName()
+                        + "' must be a Mono or Flux data parameter, or be annotated with @DestinationVariable or @RSocketMetadata";
+            } else if (data != null) {
+                error = "Only one Mono or Flux data parameter is supported, '" + data.getSimpleName()
+                        + "' is already the data of this method";
+            } else {
+                data = parameter;
+            }
 
-    private List<VariableElement> getMethodDestinationVariables(ExecutableElement methodElement) {
-        return methodElement.getParameters().stream()
-                .filter(parameter -> {
-                            try {
-                                AnnotationMirror annotation = getAnnotationFromMirrorList(
-                                        parameter.getAnnotationMirrors(),
-                                        DestinationVariable.class
-                                );
+            if (error != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, error, parameter);
+                return null;
+            }
+        }
 
-                                return annotation != null;
-                            } catch (NoSuchElementException ignored) {
-                                return false;
-                            }
-                        }
-                )
-                .collect(Collectors.toList());
+        return new MethodParameters(data, destinationVariables, metadata);
     }
 
     private enum MethodReturnCoreType { MONO, FLUX }
 
-    private String generateRSocketRequesterRouteCall(
+    private record RouteSegment(String value, boolean variable) { }
+
+    private CodeBlock generateRSocketRequesterRouteCall(CodeBlock routeExpression) {
+        return CodeBlock.of(".route($L)", routeExpression);
+    }
+
+    private CodeBlock generateRouteExpression(
+            TypeSpec.Builder typeSpecBuilder,
+            ExecutableElement methodElement,
             String route,
-            List<VariableElement> destinationVariables
+            List<VariableElement> destinationVariables,
+            boolean routeConstant
     ) {
-        StringBuilder sb = new StringBuilder();
+        List<RouteSegment> segments = parseRouteTemplate(route);
+        if (segments == null) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Malformed route template '" + route + "'",
+                    methodElement
+            );
+            return null;
+        }
+
+        Map<String, VariableElement> variablesByName = new LinkedHashMap<>();
+        for (VariableElement destinationVariable : destinationVariables) {
+            variablesByName.put(getDestinationVariableName(destinationVariable), destinationVariable);
+        }
+
+        Set<String> templateVariables = new HashSet<>();
+        for (RouteSegment segment : segments) {
+            if (segment.variable()) {
+                templateVariables.add(segment.value());
+                if (!variablesByName.containsKey(segment.value())) {
+                    processingEnv.getMessager().printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "Route '" + route + "' uses '{" + segment.value() + "}' but no @DestinationVariable is bound to it",
+                            methodElement
+                    );
+                    return null;
+                }
+            }
+        }
+
+        for (Map.Entry<String, VariableElement> entry : variablesByName.entrySet()) {
+            if (!templateVariables.contains(entry.getKey())) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR,
+                        "@DestinationVariable '" + entry.getKey() + "' is not used in route '" + route + "'",
+                        entry.getValue()
+                );
+                return null;
+            }
+        }
+
+        if (templateVariables.isEmpty() && !routeConstant) {
+            return CodeBlock.of("$S", route);
+        }
+        if (templateVariables.isEmpty()) {
+            String constantName = createUniqueFieldName(
+                    typeSpecBuilder,
+                    toConstantName(methodElement.getSimpleName().toString()) + "_ROUTE"
+            );
+            typeSpecBuilder.addField(
+                    FieldSpec.builder(String.class, constantName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                            .initializer("$S", route)
+                            .build()
+            );
+            return CodeBlock.of("$N", constantName);
+        }
+
+        // Expanded at compile time into a plain concatenation, Spring then skips template parsing.
+        // Variables are escaped the way Spring expands templates, so the route on the wire stays the same
+        CodeBlock.Builder expression = CodeBlock.builder();
+        for (int i = 0; i < segments.size(); i++) {
+            RouteSegment segment = segments.get(i);
+            if (i > 0) {
+                expression.add(" + ");
+            }
+
+            if (!segment.variable()) {
+                expression.add("$S", segment.value());
+            } else {
+                expression.add(
+                        "$T.expand($N)",
+                        RSocketRouteVariables.class,
+                        variablesByName.get(segment.value()).getSimpleName().toString()
+                );
+            }
+        }
+
+        return expression.build();
+    }
 
-        sb.append(".route(")
-                .append(route);
+    private List<RouteSegment> parseRouteTemplate(String route) {
+        List<RouteSegment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
 
+        for (int position = 0; position < route.length(); position++) {
+            char current = route.charAt(position);
+            if (current == '}') {
+                return null;
+            }
+            if (current != '{') {
+                literal.append(current);
+                continue;
+            }
+
+            int variableEnd = route.indexOf('}', position);
+            int nestedStart = route.indexOf('{', position + 1);
+            if (variableEnd <= position + 1 || (nestedStart >= 0 && nestedStart < variableEnd)) {
+                return null;
+            }
+
+            if (!literal.isEmpty()) {
+                segments.add(new RouteSegment(literal.toString(), false));
+                literal.setLength(0);
+            }
+            segments.add(new RouteSegment(route.substring(position + 1, variableEnd), true));
+            position = variableEnd;
+        }
+
+        if (!literal.isEmpty()) {
+            segments.add(new RouteSegment(literal.toString(), false));
+        }
+
+        return segments;
+    }
+
+    // Destination variables in the order their placeholders appear in the route
+    private List<VariableElement> orderDestinationVariables(String route, List<VariableElement> destinationVariables) {
+        Map<String, VariableElement> variablesByName = new HashMap<>();
         for (VariableElement destinationVariable : destinationVariables) {
-            sb.append(",").append(" ")
-                    .append(destinationVariable.getSimpleName().toString());
+            variablesByName.put(getDestinationVariableName(destinationVariable), destinationVariable);
         }
 
-        sb.append(")");
+        List<VariableElement> ordered = new ArrayList<>();
+        for (RouteSegment segment : parseRouteTemplate(route)) {
+            if (segment.variable()) {
+                ordered.add(variablesByName.get(segment.value()));
+            }
+        }
+        return ordered;
+    }
+
+    private String getDestinationVariableName(VariableElement destinationVariable) {
+        DestinationVariable annotation = destinationVariable.getAnnotation(DestinationVariable.class);
+        if (annotation != null && !annotation.value().isEmpty()) {
+            return annotation.value();
+        }
+        return destinationVariable.getSimpleName().toString();
+    }
 
-        return sb.toString();
+    // Field names of the client being generated, synced from fieldSpecs so each lookup stays O(1)
+    private final Set<String> fieldNames = new HashSet<>();
+    private int syncedFieldCount;
 
+    private void resetFieldNames() {
+        fieldNames.clear();
+        syncedFieldCount = 0;
     }
-    private MethodSpec generateDefaultCode(
-            String route,
-            MethodSpec.Builder builder,
-            List<VariableElement> destinationVariables,
-            String methodDataParameterName,
-            String methodReturnTypeGenericType,
-            MethodReturnCoreType methodReturnCoreType
+
+    private String createUniqueFieldName(TypeSpec.Builder typeSpecBuilder, String baseName) {
+        List<FieldSpec> fieldSpecs = typeSpecBuilder.fieldSpecs;
+        for (; syncedFieldCount < fieldSpecs.size(); syncedFieldCount++) {
+            fieldNames.add(fieldSpecs.get(syncedFieldCount).name);
+        }
+
+        String name = baseName;
+        for (int index = 1; fieldNames.contains(name); index++) {
+            name = baseName + "_" + index;
+        }
+        return name;
+    }
+
+    private String createLocalVariableName(ExecutableElement methodElement, String baseName) {
+        Set<String> parameterNames = methodElement.getParameters().stream()
+                .map(parameter -> parameter.getSimpleName().toString())
+                .collect(Collectors.toSet());
+
+        String name = baseName;
+        for (int index = 1; parameterNames.contains(name); index++) {
+            name = baseName + index;
+        }
+        return name;
+    }
+
+    private String toConstantName(String methodName) {
+        return methodName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    private CodeBlock generateRSocketRequesterDataCall(
+            TypeSpec.Builder typeSpecBuilder,
+            ExecutableElement methodElement,
+            CodeBlock dataExpression,
+            TypeMirror methodDataType
+    ) {
+        if (TypeName.get(methodDataType) instanceof ParameterizedTypeName) {
+            return CodeBlock.of(
+                    ".data($L, $L)",
+                    dataExpression,
+                    generateTypeToken(typeSpecBuilder, methodElement, methodDataType, "_DATA_TYPE")
+            );
+        }
+        return CodeBlock.of(".data($L)", dataExpression);
+    }
+
+    private List<CodeBlock> generateRSocketRequesterMetadataCalls(
+            TypeSpec.Builder typeSpecBuilder,
+            List<VariableElement> metadataParameters,
+            Map<String, String> mimeTypeConstants
+    ) {
+        List<CodeBlock> metadataCalls = new ArrayList<>();
+        for (VariableElement metadataParameter : metadataParameters) {
+            String mimeType = metadataParameter.getAnnotation(RSocketMetadata.class).mimeType();
+            try {
+                MimeTypeUtils.parseMimeType(mimeType);
+            } catch (InvalidMimeTypeException e) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR,
+                        "Invalid metadata mime type '" + mimeType + "': " + e.getMessage(),
+                        metadataParameter
+                );
+                return null;
+            }
+
+            String constantName = getMimeTypeConstant(typeSpecBuilder, mimeType, mimeTypeConstants);
+            metadataCalls.add(CodeBlock.of(".metadata($N, $N)", metadataParameter.getSimpleName().toString(), constantName));
+        }
+        return metadataCalls;
+    }
+
+    private String getMimeTypeConstant(TypeSpec.Builder typeSpecBuilder, String mimeType, Map<String, String> mimeTypeConstants) {
+        return mimeTypeConstants.computeIfAbsent(mimeType, value -> {
+            String name = createUniqueFieldName(
+                    typeSpecBuilder,
+                    value.replaceAll("[^A-Za-z0-9]+", "_").toUpperCase(Locale.ROOT) + "_MIME_TYPE"
+            );
+            typeSpecBuilder.addField(
+                    FieldSpec.builder(MimeType.class, name, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                            .initializer("$T.valueOf($S)", MimeType.class, value)
+                            .build()
+            );
+            return name;
+        });
+    }
+
+    private CodeBlock generateTypeToken(
+            TypeSpec.Builder typeSpecBuilder,
+            ExecutableElement methodElement,
+            TypeMirror type,
+            String constantSuffix
     ) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(
-                "return provider.getRSocketRequester()" + "\n"
-        ).append(
-                generateRSocketRequesterRouteCall(route, destinationVariables) + "\n"
-        ).append(
-                ".data(" + methodDataParameterName + ")" + "\n"
+        TypeName typeName = TypeName.get(type);
+        if (!(typeName instanceof ParameterizedTypeName)) {
+            return CodeBlock.of("$T.class", typeName);
+        }
+
+        ParameterizedTypeName typeReferenceName = ParameterizedTypeName.get(
+                ClassName.get(ParameterizedTypeReference.class),
+                typeName
+        );
+        String constantName = createUniqueFieldName(
+                typeSpecBuilder,
+                toConstantName(methodElement.getSimpleName().toString()) + constantSuffix
         );
 
+        typeSpecBuilder.addField(
+                FieldSpec.builder(typeReferenceName, constantName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T() {}", typeReferenceName)
+                        .build()
+        );
+        return CodeBlock.of("$N", constantName);
+    }
+
+    private CodeBlock generateDefaultCode(
+            CodeBlock requesterCall,
+            CodeBlock routeExpression,
+            CodeBlock dataCall,
+            CodeBlock responseTypeToken,
+            MethodReturnCoreType methodReturnCoreType
+    ) {
+        CodeBlock.Builder builder = CodeBlock.builder()
+                .add("$L\n", requesterCall)
+                .add("$L\n", generateRSocketRequesterRouteCall(routeExpression))
+                .add("$L\n", dataCall);
+
         if (methodReturnCoreType == MethodReturnCoreType.MONO) {
-            sb.append(
-                    ".retrieveMono(" + methodReturnTypeGenericType + ".class)"
-            );
+            builder.add(".retrieveMono($L)", responseTypeToken);
         }
 
         if (methodReturnCoreType == MethodReturnCoreType.FLUX) {
-            sb.append(
-                    ".retrieveFlux(" + methodReturnTypeGenericType + ".class)"
+            builder.add(".retrieveFlux($L)", responseTypeToken);
+        }
+
+        return builder.build();
+    }
+
+    private CodeBlock generateCoalescedCode(
+            TypeSpec.Builder typeSpecBuilder,
+            CodeBlock requesterCall,
+            CodeBlock routeExpression,
+            ExecutableElement methodElement,
+            String methodDataParameterName,
+            TypeMirror methodDataType,
+            TypeMirror methodResponseType
+    ) {
+        String coalescerFieldName = createUniqueFieldName(
+                typeSpecBuilder,
+                methodElement.getSimpleName().toString() + "Coalescer"
+        );
+        typeSpecBuilder.addField(
+                FieldSpec.builder(
+                                ParameterizedTypeName.get(
+                                        ClassName.get(RSocketRequestCoalescer.class),
+                                        TypeName.get(methodResponseType).box()
+                                ),
+                                coalescerFieldName,
+                                Modifier.PRIVATE,
+                                Modifier.FINAL
+                        )
+                        .initializer("new $T<>()", RSocketRequestCoalescer.class)
+                        .build()
+        );
+
+        // The data item is part of the key, so the request is sent per resolved item
+        String itemName = createLocalVariableName(methodElement, "item");
+        CodeBlock request = generateDefaultCode(
+                requesterCall,
+                routeExpression,
+                generateRSocketRequesterDataCall(
+                        typeSpecBuilder,
+                        methodElement,
+                        CodeBlock.of("$T.just($N)", Mono.class, itemName),
+                        methodDataType
+                ),
+                generateTypeToken(typeSpecBuilder, methodElement, methodResponseType, "_RESPONSE_TYPE"),
+                MethodReturnCoreType.MONO
+        );
+
+        return CodeBlock.of(
+                "$N.flatMap($N -> $N.execute(new $T($L, $N), $L))",
+                methodDataParameterName,
+                itemName,
+                coalescerFieldName,
+                RSocketRequestKey.class,
+                routeExpression,
+                itemName,
+                request
+        );
+    }
+
+    private CodeBlock generateBatchedCode(
+            TypeSpec.Builder typeSpecBuilder,
+            MethodSpec.Builder constructorBuilder,
+            String requesterProviderField,
+            ExecutableElement methodElement,
+            RSocketBatch batch,
+            VariableElement dataParameter,
+            TypeMirror responseType,
+            List<VariableElement> destinationVariables,
+            RSocketMethodType rsocketMethodType,
+            List<String> batcherFields
+    ) {
+        if (rsocketMethodType != RSocketMethodType.REQUEST_RESPONSE || !destinationVariables.isEmpty()) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "@RSocketBatch is only supported on REQUEST_RESPONSE methods without @DestinationVariable parameters",
+                    methodElement
             );
+            return null;
         }
 
-        return builder.addStatement(
-                CodeBlock.builder()
-                        .add(
-                                sb.toString()
+        TypeMirror dataType = getPayloadType(dataParameter.asType());
+
+        String batcherFieldName = createUniqueFieldName(
+                typeSpecBuilder,
+                methodElement.getSimpleName().toString() + "Batcher"
+        );
+
+        typeSpecBuilder.addField(
+                FieldSpec.builder(
+                                ParameterizedTypeName.get(
+                                        ClassName.get(RSocketRequestBatcher.class),
+                                        TypeName.get(dataType).box(),
+                                        TypeName.get(responseType).box()
+                                ),
+                                batcherFieldName,
+                                Modifier.PRIVATE,
+                                Modifier.FINAL
                         )
                         .build()
-        ).build();
+        );
+
+        constructorBuilder.addStatement(
+                "this.$N = new $T<>($N::getRSocketRequester, $S, $L, $L, $T.ofMillis($L))",
+                batcherFieldName,
+                RSocketRequestBatcher.class,
+                requesterProviderField,
+                batch.route(),
+                generateTypeToken(typeSpecBuilder, methodElement, responseType, "_RESPONSE_TYPE"),
+                batch.maxSize(),
+                Duration.class,
+                batch.maxDelayMillis() + "L"
+        );
+
+        batcherFields.add(batcherFieldName);
+
+        return CodeBlock.of("$N.flatMap($N::submit)", dataParameter.getSimpleName().toString(), batcherFieldName);
+    }
+
+    // Batchers keep a buffering subscription and its timer, the client stops them when the context closes
+    private void generateBatcherDisposal(TypeSpec.Builder typeSpecBuilder, List<String> batcherFields) {
+        MethodSpec.Builder dispose = MethodSpec.methodBuilder("dispose")
+                .addAnnotation(Override.class)
+                .addAnnotation(PreDestroy.class)
+                .addModifiers(Modifier.PUBLIC);
+        for (String batcherField : batcherFields) {
+            dispose.addStatement("$N.dispose()", batcherField);
+        }
+
+        CodeBlock disposed = batcherFields.stream()
+                .map(batcherField -> CodeBlock.of("$N.isDisposed()", batcherField))
+                .collect(CodeBlock.joining(" && "));
+
+        typeSpecBuilder
+                .addSuperinterface(Disposable.class)
+                .addMethod(dispose.build())
+                .addMethod(MethodSpec.methodBuilder("isDisposed")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.BOOLEAN)
+                        .addStatement("return $L", disposed)
+                        .build());
+    }
+
+    private enum RawPayloadKind {
+        BYTE_BUF(ByteBuf.class.getName(), "fromByteBuf", "toByteBuf"),
+        DATA_BUFFER(DataBuffer.class.getName(), "fromDataBuffer", "toDataBuffer"),
+        PAYLOAD(Payload.class.getName(), "fromPayload", "toPayload");
+
+        private final String className;
+        private final String dataExtractor;
+        private final String responseExtractor;
+
+        RawPayloadKind(String className, String dataExtractor, String responseExtractor) {
+            this.className = className;
+            this.dataExtractor = dataExtractor;
+            this.responseExtractor = responseExtractor;
+        }
+
+        private static RawPayloadKind of(TypeMirror type) {
+            for (RawPayloadKind kind : values()) {
+                if (kind.className.equals(type.toString())) {
+                    return kind;
+                }
+            }
+            return null;
+        }
     }
 
-    private MethodSpec generateFireAndForgetCode(
+    private CodeBlock generateRawPayloadCode(
+            TypeSpec.Builder typeSpecBuilder,
+            CodeBlock requesterCall,
+            ExecutableElement methodElement,
             String route,
+            CodeBlock routeExpression,
             MethodSpec.Builder builder,
-            List<VariableElement> destinationVariables,
-            String methodDataParameterName
+            String methodDataParameterName,
+            RawPayloadKind rawDataKind,
+            RawPayloadKind rawResponseKind,
+            RSocketMethodType rsocketMethodType
     ) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(
-                "return provider.getRSocketRequester()" + "\n"
-        ).append(
-                generateRSocketRequesterRouteCall(route, destinationVariables) + "\n"
-        ).append(
-                ".data(" + methodDataParameterName + ")" + "\n"
-        ).append(
-                ".send()"
+        CodeBlock routeMetadata;
+        if (route.indexOf('{') < 0) {
+            String routeMetadataConstant = createUniqueFieldName(
+                    typeSpecBuilder,
+                    toConstantName(methodElement.getSimpleName().toString()) + "_ROUTE_METADATA"
+            );
+            typeSpecBuilder.addField(
+                    FieldSpec.builder(RSocketRouteMetadata.class, routeMetadataConstant, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                            .initializer("new $T($L)", RSocketRouteMetadata.class, routeExpression)
+                            .build()
+            );
+            routeMetadata = CodeBlock.of("$N", routeMetadataConstant);
+        } else {
+            routeMetadata = CodeBlock.of("new $T($L)", RSocketRouteMetadata.class, routeExpression);
+        }
+
+        String requesterVariableName = createLocalVariableName(methodElement, "requester");
+        CodeBlock request = CodeBlock.of(
+                "$T.$L($N, $T::$L, $N, $L)",
+                RSocketRawPayloads.class,
+                rsocketMethodType == RSocketMethodType.REQUEST_CHANNEL ? "requests" : "request",
+                methodDataParameterName,
+                RSocketRawPayloads.class,
+                rawDataKind.dataExtractor,
+                requesterVariableName,
+                routeMetadata
+        );
+
+        builder.addStatement("$T $N = $L", RSocketRequester.class, requesterVariableName, requesterCall);
+
+        return switch (rsocketMethodType) {
+            case FIRE_AND_FORGET -> CodeBlock.of(
+                    "$N.rsocketClient().fireAndForget($L)",
+                    requesterVariableName, request
+            );
+            case REQUEST_RESPONSE -> CodeBlock.of(
+                    "$T.response($N.rsocketClient().requestResponse($L), $T::$L)",
+                    RSocketRawPayloads.class, requesterVariableName, request, RSocketRawPayloads.class, rawResponseKind.responseExtractor
+            );
+            case REQUEST_STREAM -> CodeBlock.of(
+                    "$T.responses($N.rsocketClient().requestStream($L), $T::$L)",
+                    RSocketRawPayloads.class, requesterVariableName, request, RSocketRawPayloads.class, rawResponseKind.responseExtractor
+            );
+            case REQUEST_CHANNEL -> CodeBlock.of(
+                    "$T.responses($N.rsocketClient().requestChannel($L), $T::$L)",
+                    RSocketRawPayloads.class, requesterVariableName, request, RSocketRawPayloads.class, rawResponseKind.responseExtractor
+            );
+            case METADATA_PUSH -> throw new IllegalStateException("Metadata push carries no raw data payload");
+        };
+    }
+
+    private record ResponseCache(String fieldName, String cachedVariableName) { }
+
+    private ResponseCache generateResponseCache(
+            TypeSpec.Builder typeSpecBuilder,
+            MethodSpec.Builder methodBuilder,
+            ExecutableElement methodElement,
+            RSocketCacheable cacheable,
+            CodeBlock routeExpression,
+            TypeMirror responseType
+    ) {
+        TypeName responseTypeName = TypeName.get(responseType).box();
+        String cacheFieldName = createUniqueFieldName(
+                typeSpecBuilder,
+                methodElement.getSimpleName().toString() + "Cache"
         );
-        return builder.addStatement(
-                CodeBlock.builder()
-                        .add(
-                                sb.toString()
+
+        typeSpecBuilder.addField(
+                FieldSpec.builder(
+                                ParameterizedTypeName.get(ClassName.get(RSocketResponseCache.class), responseTypeName),
+                                cacheFieldName,
+                                Modifier.PRIVATE,
+                                Modifier.FINAL
+                        )
+                        .initializer(
+                                "new $T<>($LL, $L, $T.$L)",
+                                RSocketResponseCache.class,
+                                cacheable.ttlMillis(),
+                                cacheable.maxSize(),
+                                RSocketCacheEviction.class,
+                                cacheable.eviction().name()
                         )
                         .build()
-        ).build();
+        );
+
+        String cachedVariableName = createLocalVariableName(methodElement, "cached");
+        methodBuilder.addStatement("$T $N = $N.getIfPresent($L)", responseTypeName, cachedVariableName, cacheFieldName, routeExpression);
+
+        return new ResponseCache(cacheFieldName, cachedVariableName);
+    }
+
+    private boolean isValidFlowControl(
+            ExecutableElement methodElement,
+            RSocketFlowControl flowControl,
+            RSocketMethodType rsocketMethodType
+    ) {
+        String error = null;
+        if (rsocketMethodType != RSocketMethodType.REQUEST_STREAM && rsocketMethodType != RSocketMethodType.REQUEST_CHANNEL) {
+            error = "@RSocketFlowControl is only supported on REQUEST_STREAM and REQUEST_CHANNEL methods";
+        } else if (flowControl.initialRequest() < 0 || flowControl.limitRate() < 0
+                || flowControl.limitRequest() < 0 || flowControl.outboundBuffer() < 0) {
+            error = "@RSocketFlowControl values must not be negative";
+        } else if (flowControl.outboundBuffer() > 0 && rsocketMethodType != RSocketMethodType.REQUEST_CHANNEL) {
+            error = "@RSocketFlowControl outboundBuffer is only supported on REQUEST_CHANNEL methods";
+        }
+
+        if (error != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, error, methodElement);
+            return false;
+        }
+        return true;
+    }
+
+    private CodeBlock generateFlowControlDecorator(
+            RSocketFlowControl flowControl,
+            CodeBlock responseExpression
+    ) {
+        // take(n, true) sits below limitRate, so the responder is never asked for more than n
+        if (flowControl.limitRequest() > 0) {
+            responseExpression = CodeBlock.of("$L\n.take($LL, true)", responseExpression, flowControl.limitRequest());
+        }
+
+        // limitRate(highTide, lowTide) sends highTide as the first REQUEST_N and replenishes by lowTide
+        if (flowControl.initialRequest() > 0 && flowControl.limitRate() > 0) {
+            responseExpression = CodeBlock.of(
+                    "$L\n.limitRate($L, $L)",
+                    responseExpression,
+                    flowControl.initialRequest(),
+                    flowControl.limitRate()
+            );
+        } else if (flowControl.initialRequest() > 0 || flowControl.limitRate() > 0) {
+            responseExpression = CodeBlock.of(
+                    "$L\n.limitRate($L)",
+                    responseExpression,
+                    Math.max(flowControl.initialRequest(), flowControl.limitRate())
+            );
+        }
+
+        return responseExpression;
+    }
+
+    private boolean isValidClientResilience(
+            TypeElement interfaceElement,
+            RSocketCircuitBreaker circuitBreaker,
+            RSocketConcurrencyLimit concurrencyLimit
+    ) {
+        String error = null;
+        if (circuitBreaker != null && (circuitBreaker.failureRateThreshold() < 1 || circuitBreaker.failureRateThreshold() > 100)) {
+            error = "@RSocketCircuitBreaker failureRateThreshold must be between 1 and 100";
+        } else if (circuitBreaker != null && (circuitBreaker.minimumCalls() < 1 || circuitBreaker.windowSize() < circuitBreaker.minimumCalls())) {
+            error = "@RSocketCircuitBreaker minimumCalls must be positive and not larger than windowSize";
+        } else if (circuitBreaker != null && circuitBreaker.openMillis() < 0) {
+            error = "@RSocketCircuitBreaker openMillis must not be negative";
+        } else if (concurrencyLimit != null && concurrencyLimit.maxConcurrent() < 1) {
+            error = "@RSocketConcurrencyLimit maxConcurrent must be positive";
+        }
+
+        if (error != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, error, interfaceElement);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isValidClientSession(TypeElement interfaceElement, RSocketResume resume, RSocketLease lease) {
+        String error = null;
+        if (resume != null && (resume.sessionDurationMillis() < 1 || resume.streamTimeoutMillis() < 1)) {
+            error = "@RSocketResume sessionDurationMillis and streamTimeoutMillis must be positive";
+        } else if (resume != null && resume.storeSizeBytes() < 1) {
+            error = "@RSocketResume storeSizeBytes must be positive";
+        } else if (resume != null && (resume.reconnectMinBackoffMillis() < 0 || resume.reconnectMaxBackoffMillis() < resume.reconnectMinBackoffMillis())) {
+            error = "@RSocketResume reconnectMinBackoffMillis must not be negative and not larger than reconnectMaxBackoffMillis";
+        } else if (lease != null && lease.maxPendingRequests() < 0) {
+            error = "@RSocketLease maxPendingRequests must not be negative";
+        }
+
+        if (error != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, error, interfaceElement);
+            return false;
+        }
+        return true;
+    }
+
+    // Public so the provider can pass it to RSocketRequester.Builder#rsocketConnector
+    private FieldSpec createConnectorConfigurerField(RSocketResume resume, RSocketLease lease, boolean compression) {
+        CodeBlock.Builder configurer = CodeBlock.builder().add("connector -> connector");
+        if (resume != null) {
+            configurer.add(
+                    "\n.resume(new $T()\n.sessionDuration($T.ofMillis($LL))\n.streamTimeout($T.ofMillis($LL))"
+                            + "\n.storeFactory(token -> new $T($S, token, $L))"
+                            + "\n.retry($T.backoff($T.MAX_VALUE, $T.ofMillis($LL)).maxBackoff($T.ofMillis($LL))))",
+                    Resume.class,
+                    Duration.class,
+                    resume.sessionDurationMillis(),
+                    Duration.class,
+                    resume.streamTimeoutMillis(),
+                    InMemoryResumableFramesStore.class,
+                    "client",
+                    resume.storeSizeBytes(),
+                    Retry.class,
+                    Long.class,
+                    Duration.class,
+                    resume.reconnectMinBackoffMillis(),
+                    Duration.class,
+                    resume.reconnectMaxBackoffMillis()
+            );
+        }
+        if (lease != null && lease.maxPendingRequests() > 0) {
+            configurer.add("\n.lease(spec -> spec.maxPendingRequests($L))", lease.maxPendingRequests());
+        } else if (lease != null) {
+            configurer.add("\n.lease()");
+        }
+        if (compression) {
+            configurer.add(
+                    "\n.interceptors(registry -> registry.forRequester($T.requester()))",
+                    RSocketCompressionInterceptor.class
+            );
+        }
+
+        return FieldSpec.builder(
+                        RSocketConnectorConfigurer.class,
+                        CONNECTOR_CONFIGURER_FIELD,
+                        Modifier.PUBLIC,
+                        Modifier.STATIC,
+                        Modifier.FINAL
+                )
+                .initializer(configurer.build())
+                .build();
+    }
+
+    private boolean isValidCompression(Element element, RSocketCompression compression) {
+        String error = null;
+        if (compression.thresholdBytes() < 0) {
+            error = "@RSocketCompression thresholdBytes must not be negative";
+        } else if (compression.level() < 0 || compression.level() > 9) {
+            error = "@RSocketCompression level must be between 0 and 9";
+        }
+
+        if (error != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, error, element);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isValidLane(ExecutableElement methodElement, RSocketLane lane, boolean batched, Map<String, Integer> laneLimits) {
+        String error = null;
+        Integer declaredLimit = laneLimits.putIfAbsent(lane.name(), lane.maxConcurrent());
+        if (!lane.name().matches("[A-Za-z][A-Za-z0-9]*")) {
+            error = "@RSocketLane name must be alphanumeric and start with a letter";
+        } else if (lane.maxConcurrent() < 0) {
+            error = "@RSocketLane maxConcurrent must not be negative";
+        } else if (declaredLimit != null && declaredLimit != lane.maxConcurrent()) {
+            error = "@RSocketLane '" + lane.name() + "' is declared with maxConcurrent " + declaredLimit + " on another method";
+        } else if (batched) {
+            error = "@RSocketLane is not supported together with @RSocketBatch";
+        }
+
+        if (error != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, error, methodElement);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isValidMethodResilience(
+            ExecutableElement methodElement,
+            RSocketTimeout timeout,
+            RSocketRetry retry,
+            RSocketMethodType rsocketMethodType,
+            boolean rawPayload
+    ) {
+        String error = null;
+        if (timeout != null && timeout.millis() <= 0) {
+            error = "@RSocketTimeout millis must be positive";
+        } else if (retry != null && rsocketMethodType != RSocketMethodType.REQUEST_RESPONSE && rsocketMethodType != RSocketMethodType.REQUEST_STREAM) {
+            error = "@RSocketRetry is only supported on REQUEST_RESPONSE and REQUEST_STREAM methods";
+        } else if (retry != null && rawPayload) {
+            error = "@RSocketRetry is not supported on raw payload methods, their buffers are released after the first attempt";
+        } else if (retry != null && (retry.maxRetries() < 1 || retry.minBackoffMillis() <= 0 || retry.maxBackoffMillis() < retry.minBackoffMillis())) {
+            error = "@RSocketRetry needs maxRetries >= 1 and 0 < minBackoffMillis <= maxBackoffMillis";
+        } else if (retry != null && (retry.jitter() < 0 || retry.jitter() > 1)) {
+            error = "@RSocketRetry jitter must be between 0 and 1";
+        }
+
+        if (error != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, error, methodElement);
+            return false;
+        }
+        return true;
+    }
+
+    // Per attempt timeout inside the retry, the breaker and the limiter see one call per invocation
+    private CodeBlock generateResilienceDecorators(
+            TypeSpec.Builder typeSpecBuilder,
+            ExecutableElement methodElement,
+            RSocketMethodType rsocketMethodType,
+            RSocketTimeout timeout,
+            RSocketRetry retry,
+            boolean circuitBreaker,
+            RSocketConcurrencyLimit concurrencyLimit,
+            CodeBlock responseExpression
+    ) {
+        String constantPrefix = toConstantName(methodElement.getSimpleName().toString());
+        boolean stream = rsocketMethodType == RSocketMethodType.REQUEST_STREAM || rsocketMethodType == RSocketMethodType.REQUEST_CHANNEL;
+
+        if (timeout != null) {
+            String timeoutConstantName = createUniqueFieldName(typeSpecBuilder, constantPrefix + "_TIMEOUT");
+            typeSpecBuilder.addField(
+                    FieldSpec.builder(Duration.class, timeoutConstantName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                            .initializer("$T.ofMillis($LL)", Duration.class, timeout.millis())
+                            .build()
+            );
+            responseExpression = CodeBlock.of("$L\n.timeout($N)", responseExpression, timeoutConstantName);
+        }
+
+        if (retry != null) {
+            String retryConstantName = createUniqueFieldName(typeSpecBuilder, constantPrefix + "_RETRY");
+            typeSpecBuilder.addField(
+                    FieldSpec.builder(RetryBackoffSpec.class, retryConstantName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                            .initializer(
+                                    "$T.backoff($L, $T.ofMillis($LL)).maxBackoff($T.ofMillis($LL)).jitter($L)",
+                                    Retry.class,
+                                    retry.maxRetries(),
+                                    Duration.class,
+                                    retry.minBackoffMillis(),
+                                    Duration.class,
+                                    retry.maxBackoffMillis(),
+                                    retry.jitter()
+                            )
+                            .build()
+            );
+            // Streams are only retried before their first element
+            responseExpression = stream
+                    ? CodeBlock.of("$T.beforeFirstElement($L, $N)", RSocketStreamRetry.class, responseExpression, retryConstantName)
+                    : CodeBlock.of("$L\n.retryWhen($N)", responseExpression, retryConstantName);
+        }
+
+        if (circuitBreaker) {
+            responseExpression = CodeBlock.of(
+                    "$N.$L($L)",
+                    CIRCUIT_BREAKER_FIELD,
+                    stream ? "protectStream" : "protect",
+                    responseExpression
+            );
+        }
+
+        if (concurrencyLimit != null) {
+            boolean dropped = concurrencyLimit.dropFireAndForget()
+                    && (rsocketMethodType == RSocketMethodType.FIRE_AND_FORGET || rsocketMethodType == RSocketMethodType.METADATA_PUSH);
+            responseExpression = CodeBlock.of(
+                    "$N.$L($L)",
+                    CONCURRENCY_LIMITER_FIELD,
+                    stream ? "limitStream" : dropped ? "limitOrDrop" : "limit",
+                    responseExpression
+            );
+        }
+
+        return responseExpression;
+    }
+
+    private CodeBlock generateMetricsDecorator(
+            TypeSpec.Builder typeSpecBuilder,
+            MethodSpec.Builder constructorBuilder,
+            String interfaceName,
+            ExecutableElement methodElement,
+            String route,
+            RSocketMethodType rsocketMethodType,
+            CodeBlock responseExpression
+    ) {
+        String metricsFieldName = createUniqueFieldName(
+                typeSpecBuilder,
+                methodElement.getSimpleName().toString() + "Metrics"
+        );
+
+        typeSpecBuilder.addField(
+                FieldSpec.builder(RSOCKET_METHOD_METRICS_CLASS_NAME, metricsFieldName, Modifier.PRIVATE, Modifier.FINAL)
+                        .build()
+        );
+        constructorBuilder.addStatement(
+                "this.$N = new $T(meterRegistry, $S, $S, $T.$L)",
+                metricsFieldName,
+                RSOCKET_METHOD_METRICS_CLASS_NAME,
+                interfaceName,
+                route,
+                RSocketMethodType.class,
+                rsocketMethodType.name()
+        );
+
+        return switch (rsocketMethodType) {
+            case REQUEST_RESPONSE, FIRE_AND_FORGET, METADATA_PUSH -> CodeBlock.of("$N.instrument($L)", metricsFieldName, responseExpression);
+            case REQUEST_STREAM, REQUEST_CHANNEL -> CodeBlock.of("$N.instrumentStream($L)", metricsFieldName, responseExpression);
+        };
+    }
+
+    private CodeBlock generateFireAndForgetCode(
+            CodeBlock requesterCall,
+            CodeBlock routeExpression,
+            CodeBlock dataCall
+    ) {
+        return CodeBlock.builder()
+                .add("$L\n", requesterCall)
+                .add("$L\n", generateRSocketRequesterRouteCall(routeExpression))
+                .add("$L\n", dataCall)
+                .add(".send()")
+                .build();
+    }
+
+    private CodeBlock generateMetadataPushCode(
+            CodeBlock requesterCall,
+            CodeBlock routeExpression,
+            List<CodeBlock> metadataCalls
+    ) {
+        return CodeBlock.builder()
+                .add("$L\n", requesterCall)
+                .add("$L\n", generateRSocketRequesterRouteCall(routeExpression))
+                .add(CodeBlock.join(metadataCalls, "\n"))
+                .add("\n.sendMetadata()")
+                .build();
     }
 
     private MethodSpec.Builder createMethodBase(
             String methodName,
-            String methodReturnTypeGenericType,
-            List<VariableElement> methodDestinationVariables,
-            String methodDataParameterName,
-            String methodFirstParameterGenericType,
+            TypeMirror methodReturnType,
+            List<? extends VariableElement> methodParameters,
             RSocketMethodType type
     ) {
-        MethodSpec.Builder builder = MethodSpec.constructorBuilder()
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(methodName)
                 .addModifiers(Modifier.PUBLIC)
-                .setName(methodName)
-                .returns(
-                        switch (type) {
-                            case REQUEST_RESPONSE, FIRE_AND_FORGET -> getParameterizedTypeClass(getTypeClass(monoClassName), methodReturnTypeGenericType);
-                            case REQUEST_STREAM, REQUEST_CHANNEL ->getParameterizedTypeClass(getTypeClass(fluxClassName), methodReturnTypeGenericType);
-                        }
-                )
+                .returns(TypeName.get(methodReturnType))
                 .addAnnotation(
                         createOverrideAnnotation()
                 );
 
         builder.addComment("RSOCKET_METHOD_TYPE::"+type.name());
 
-        generateMethodDestinationVariables(builder, methodDestinationVariables);
-
-        builder.addParameter(
-                switch (type) {
-                    case REQUEST_RESPONSE, FIRE_AND_FORGET, REQUEST_STREAM -> getParameterizedTypeClass(getTypeClass(monoClassName), methodFirstParameterGenericType);
-                    case REQUEST_CHANNEL ->getParameterizedTypeClass(getTypeClass(fluxClassName), methodFirstParameterGenericType);
-                }, methodDataParameterName
-        );
+        generateMethodParameters(builder, methodParameters);
 
         return builder;
     }
@@ -419,35 +1811,31 @@ public class RSocketApiAnnotationProcessor extends AbstractProcessor {
                 .build();
     }
 
-    private ClassName getTypeClass(String javaClassName) {
-        return ClassName.get(
-                javaClassName.substring(0, javaClassName.lastIndexOf(".")),
-                javaClassName.substring(javaClassName.lastIndexOf(".") + 1)
-        );
-    }
-
-    private ParameterizedTypeName getParameterizedTypeClass(ClassName javaClass, String parameterizedJavaClass) {
-        return ParameterizedTypeName.get(
-                javaClass, getTypeClass(parameterizedJavaClass)
-        );
+    private FieldSpec createConfigField(TypeName apiConfigType) {
+        return FieldSpec.builder(
+                        apiConfigType,
+                        "provider",
+                        Modifier.PRIVATE,
+                        Modifier.FINAL
+                )
+                .build();
     }
 
-    private FieldSpec createConfigField(String apiConfigClassName) {
+    private FieldSpec createCachingProviderField() {
         return FieldSpec.builder(
-                        getTypeClass(apiConfigClassName),
-                        "provider",
+                        CachingRSocketRequesterProvider.class,
+                        "cachingProvider",
                         Modifier.PRIVATE,
                         Modifier.FINAL
                 )
                 .build();
     }
 
-    private MethodSpec createConstructor(String apiConfigClassName) {
+    private MethodSpec.Builder createConstructor(TypeName apiConfigType) {
         return MethodSpec.constructorBuilder()
                 .addModifiers(Modifier.PUBLIC)
-                .addParameter(getTypeClass(apiConfigClassName), "provider")
-                .addStatement("this.provider = provider")
-                .build();
+                .addParameter(apiConfigType, "provider")
+                .addStatement("this.provider = provider");
     }
 
     // Helper method to get generic type arguments
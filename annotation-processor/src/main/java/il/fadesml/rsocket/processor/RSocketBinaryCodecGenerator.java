@@ -0,0 +1,477 @@
+package il.fadesml.rsocket.processor;
+
+import com.squareup.javapoet.*;
+import il.fadesml.rsocket.codec.RSocketBinaryCodec;
+import il.fadesml.rsocket.codec.RSocketBinaryDecoder;
+import il.fadesml.rsocket.codec.RSocketBinaryEncoder;
+import il.fadesml.rsocket.codec.RSocketBinaryReader;
+import il.fadesml.rsocket.codec.RSocketBinaryWriter;
+import lombok.SneakyThrows;
+import org.springframework.boot.rsocket.messaging.RSocketStrategiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.processing.Generated;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Generates reflection-free {@link RSocketBinaryCodec} implementations for the
+ * DTOs used by one {@code @RSocketApi} interface, nested in a single
+ * {@code <Interface>RSocketCodecs} configuration class so that every generated
+ * file belongs to exactly one interface.
+ */
+class RSocketBinaryCodecGenerator {
+    private static final String CODECS_CLASS_SUFFIX = "RSocketCodecs";
+    private static final Map<String, String> BOXED_ACCESSORS = Map.of(
+            Boolean.class.getName(), "Boolean",
+            Byte.class.getName(), "Byte",
+            Short.class.getName(), "Short",
+            Character.class.getName(), "Char",
+            Integer.class.getName(), "Int",
+            Long.class.getName(), "Long",
+            Float.class.getName(), "Float",
+            Double.class.getName(), "Double"
+    );
+
+    private final ProcessingEnvironment processingEnv;
+    private String codecsPackageName;
+
+    RSocketBinaryCodecGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    private record Property(String name, TypeMirror type, String getter, String setter) { }
+
+    private record Dto(TypeElement element, String codecSimpleName, List<Property> properties) { }
+
+    @SneakyThrows
+    void generate(TypeElement interfaceElement, Collection<? extends TypeMirror> payloadTypes) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(interfaceElement).toString();
+        String codecsSimpleName = interfaceElement.getSimpleName() + CODECS_CLASS_SUFFIX;
+        ClassName codecsClassName = ClassName.get(packageName, codecsSimpleName);
+        codecsPackageName = packageName;
+
+        Map<String, Dto> dtos = new LinkedHashMap<>();
+        Set<String> unsupported = new HashSet<>();
+        for (TypeMirror payloadType : payloadTypes) {
+            TypeElement dtoElement = asDtoElement(payloadType);
+            if (dtoElement != null) {
+                collect(dtoElement, dtos, unsupported);
+            }
+        }
+        removeBrokenReferences(dtos, unsupported);
+
+        TypeSpec.Builder codecsBuilder = TypeSpec.classBuilder(codecsSimpleName)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(Generated.class)
+                        .addMember("value", "$S", RSocketApiAnnotationProcessor.class.getName())
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(Configuration.class)
+                        .addMember("proxyBeanMethods", "false")
+                        .build());
+
+        CodeBlock.Builder codecList = CodeBlock.builder();
+        for (Dto dto : dtos.values()) {
+            codecsBuilder.addType(createCodecType(codecsClassName, dto, dtos));
+            if (!codecList.isEmpty()) {
+                codecList.add(", ");
+            }
+            codecList.add("$T.INSTANCE", codecsClassName.nestedClass(dto.codecSimpleName()));
+        }
+
+        ParameterizedTypeName codecListType = ParameterizedTypeName.get(
+                ClassName.get(List.class),
+                ParameterizedTypeName.get(ClassName.get(RSocketBinaryCodec.class), WildcardTypeName.subtypeOf(Object.class))
+        );
+
+        codecsBuilder
+                .addField(FieldSpec.builder(codecListType, "CODECS", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.of($L)", List.class, codecList.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(decapitalize(interfaceElement.getSimpleName().toString()) + "RSocketStrategiesCustomizer")
+                        .addAnnotation(Bean.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(RSocketStrategiesCustomizer.class)
+                        .addStatement(
+                                "return strategies -> strategies.encoder(new $T(CODECS)).decoder(new $T(CODECS))",
+                                RSocketBinaryEncoder.class,
+                                RSocketBinaryDecoder.class
+                        )
+                        .build());
+
+        JavaFileObject codecsFile = processingEnv.getFiler().createSourceFile(codecsClassName.toString(), interfaceElement);
+        try (PrintWriter out = new PrintWriter(codecsFile.openWriter())) {
+            out.write(JavaFile.builder(packageName, codecsBuilder.build()).build().toString());
+        }
+    }
+
+    private boolean collect(TypeElement element, Map<String, Dto> dtos, Set<String> unsupported) {
+        String qualifiedName = element.getQualifiedName().toString();
+        if (dtos.containsKey(qualifiedName)) {
+            return true;
+        }
+        if (unsupported.contains(qualifiedName)) {
+            return false;
+        }
+
+        String rejection = checkDtoShape(element);
+        if (rejection != null) {
+            reject(element, rejection, unsupported);
+            return false;
+        }
+
+        List<Property> properties = new ArrayList<>();
+        dtos.put(qualifiedName, new Dto(element, createCodecSimpleName(element, dtos), properties));
+
+        Map<String, List<ExecutableElement>> methods = new HashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(element))) {
+            methods.computeIfAbsent(method.getSimpleName().toString(), key -> new ArrayList<>()).add(method);
+        }
+
+        for (TypeElement current = element; current != null; current = superclassOf(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+
+                String name = field.getSimpleName().toString();
+                if (modifiers.contains(Modifier.FINAL)) {
+                    dtos.remove(qualifiedName);
+                    reject(element, "field '" + name + "' is final", unsupported);
+                    return false;
+                }
+                if (!isSupported(field.asType(), dtos, unsupported)) {
+                    dtos.remove(qualifiedName);
+                    reject(element, "field '" + name + "' has unsupported type " + field.asType(), unsupported);
+                    return false;
+                }
+
+                // Accessors generated by Lombok may not be visible yet, the JavaBeans names are assumed then
+                String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+                String getter = field.asType().getKind() == TypeKind.BOOLEAN && !methods.containsKey("get" + capitalized)
+                        ? "is" + capitalized
+                        : "get" + capitalized;
+                String setter = "set" + capitalized;
+
+                String missingAccessor = null;
+                if (!hasAccessor(methods.get(getter), field, true) && !hasLombokAccessor(field, "Getter")) {
+                    missingAccessor = getter + "()";
+                } else if (!hasAccessor(methods.get(setter), field, false) && !hasLombokAccessor(field, "Setter")) {
+                    missingAccessor = setter + "(" + field.asType() + ")";
+                }
+                if (missingAccessor != null) {
+                    dtos.remove(qualifiedName);
+                    reject(element, "field '" + name + "' has no accessible " + missingAccessor, unsupported);
+                    return false;
+                }
+                properties.add(new Property(name, field.asType(), getter, setter));
+            }
+        }
+
+        return true;
+    }
+
+    private boolean hasAccessor(List<ExecutableElement> candidates, VariableElement field, boolean getter) {
+        if (candidates == null) {
+            return false;
+        }
+
+        for (ExecutableElement candidate : candidates) {
+            Set<Modifier> modifiers = candidate.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)) {
+                continue;
+            }
+            // The codecs live in the interface package, anything but public has to share it
+            if (!modifiers.contains(Modifier.PUBLIC)
+                    && !processingEnv.getElementUtils().getPackageOf(candidate).getQualifiedName().contentEquals(codecsPackageName)) {
+                continue;
+            }
+
+            List<? extends VariableElement> parameters = candidate.getParameters();
+            boolean matches = getter
+                    ? parameters.isEmpty() && processingEnv.getTypeUtils().isSameType(candidate.getReturnType(), field.asType())
+                    : parameters.size() == 1 && processingEnv.getTypeUtils().isSameType(parameters.get(0).asType(), field.asType());
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Lombok adds its accessors while processing, so they may still be missing from the element
+    private boolean hasLombokAccessor(VariableElement field, String accessorAnnotation) {
+        return hasAnnotation(field, "lombok." + accessorAnnotation)
+                || hasAnnotation(field.getEnclosingElement(), "lombok." + accessorAnnotation)
+                || hasAnnotation(field.getEnclosingElement(), "lombok.Data");
+    }
+
+    private boolean hasAnnotation(Element element, String qualifiedName) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(qualifiedName));
+    }
+
+    private String checkDtoShape(TypeElement element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return "it is not a class";
+        }
+        if (element.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "it is abstract";
+        }
+        if (!element.getTypeParameters().isEmpty()) {
+            return "it is generic";
+        }
+        if (element.getNestingKind().isNested() && !element.getModifiers().contains(Modifier.STATIC)) {
+            return "it is an inner class";
+        }
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(element.getEnclosedElements());
+        boolean hasNoArgsConstructor = constructors.stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty()
+                        && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        if (!hasNoArgsConstructor) {
+            return "it has no accessible no-args constructor";
+        }
+        return null;
+    }
+
+    private boolean isSupported(TypeMirror type, Map<String, Dto> dtos, Set<String> unsupported) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return type.toString().equals("byte[]");
+        }
+        if (!(type instanceof DeclaredType declaredType)) {
+            return false;
+        }
+
+        TypeElement element = (TypeElement) declaredType.asElement();
+        String qualifiedName = element.getQualifiedName().toString();
+        if (qualifiedName.equals(String.class.getName()) || BOXED_ACCESSORS.containsKey(qualifiedName)) {
+            return true;
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            return true;
+        }
+        if (qualifiedName.equals(List.class.getName())) {
+            return declaredType.getTypeArguments().size() == 1
+                    && !declaredType.getTypeArguments().get(0).getKind().isPrimitive()
+                    && isSupported(declaredType.getTypeArguments().get(0), dtos, unsupported);
+        }
+
+        TypeElement dtoElement = asDtoElement(type);
+        return dtoElement != null && collect(dtoElement, dtos, unsupported);
+    }
+
+    private void removeBrokenReferences(Map<String, Dto> dtos, Set<String> unsupported) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Iterator<Dto> iterator = dtos.values().iterator(); iterator.hasNext(); ) {
+                Dto dto = iterator.next();
+                boolean broken = dto.properties().stream()
+                        .anyMatch(property -> referencesAny(property.type(), unsupported));
+                if (broken) {
+                    iterator.remove();
+                    unsupported.add(dto.element().getQualifiedName().toString());
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private boolean referencesAny(TypeMirror type, Set<String> qualifiedNames) {
+        if (!(type instanceof DeclaredType declaredType)) {
+            return false;
+        }
+        if (qualifiedNames.contains(((TypeElement) declaredType.asElement()).getQualifiedName().toString())) {
+            return true;
+        }
+        return declaredType.getTypeArguments().stream().anyMatch(argument -> referencesAny(argument, qualifiedNames));
+    }
+
+    private TypeElement asDtoElement(TypeMirror type) {
+        if (!(type instanceof DeclaredType declaredType)) {
+            return null;
+        }
+        TypeElement element = (TypeElement) declaredType.asElement();
+        String packageName = processingEnv.getElementUtils().getPackageOf(element).toString();
+        if (packageName.startsWith("java.") || packageName.startsWith("javax.") || element.getKind() == ElementKind.ENUM) {
+            return null;
+        }
+        return element;
+    }
+
+    private TypeElement superclassOf(TypeElement element) {
+        TypeMirror superclass = element.getSuperclass();
+        if (!(superclass instanceof DeclaredType declaredType)) {
+            return null;
+        }
+        TypeElement superElement = (TypeElement) declaredType.asElement();
+        return superElement.getQualifiedName().contentEquals(Object.class.getName()) ? null : superElement;
+    }
+
+    private void reject(TypeElement element, String reason, Set<String> unsupported) {
+        unsupported.add(element.getQualifiedName().toString());
+        processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.NOTE,
+                "No binary codec generated for " + element.getQualifiedName() + ": " + reason,
+                element
+        );
+    }
+
+    private String createCodecSimpleName(TypeElement element, Map<String, Dto> dtos) {
+        String baseName = element.getSimpleName() + "Codec";
+        Set<String> existingNames = new HashSet<>();
+        dtos.values().forEach(dto -> existingNames.add(dto.codecSimpleName()));
+
+        String name = baseName;
+        for (int index = 1; existingNames.contains(name); index++) {
+            name = baseName + index;
+        }
+        return name;
+    }
+
+    private TypeSpec createCodecType(ClassName codecsClassName, Dto dto, Map<String, Dto> dtos) {
+        ClassName codecClassName = codecsClassName.nestedClass(dto.codecSimpleName());
+        TypeName dtoTypeName = TypeName.get(dto.element().asType());
+
+        MethodSpec.Builder write = MethodSpec.methodBuilder("write")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(dtoTypeName, "value")
+                .addParameter(RSocketBinaryWriter.class, "writer");
+
+        MethodSpec.Builder read = MethodSpec.methodBuilder("read")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(dtoTypeName)
+                .addParameter(RSocketBinaryReader.class, "reader")
+                .addStatement("$T value = new $T()", dtoTypeName, dtoTypeName);
+
+        for (Property property : dto.properties()) {
+            write.addStatement(writeCode(property.type(), CodeBlock.of("value.$L()", property.getter()), "writer", codecsClassName, dtos, 0));
+            read.addStatement("value.$L($L)", property.setter(), readCode(property.type(), "reader", codecsClassName, dtos, 0));
+        }
+        read.addStatement("return value");
+
+        return TypeSpec.classBuilder(dto.codecSimpleName())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(RSocketBinaryCodec.class), dtoTypeName))
+                .addField(FieldSpec.builder(codecClassName, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", codecClassName)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getType")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(ParameterizedTypeName.get(ClassName.get(Class.class), dtoTypeName))
+                        .addStatement("return $T.class", dtoTypeName)
+                        .build())
+                .addMethod(write.build())
+                .addMethod(read.build())
+                .build();
+    }
+
+    private CodeBlock writeCode(TypeMirror type, CodeBlock value, String writer, ClassName codecsClassName, Map<String, Dto> dtos, int depth) {
+        if (type.getKind().isPrimitive()) {
+            return CodeBlock.of("$L.write$L($L)", writer, primitiveAccessor(type), value);
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return CodeBlock.of("$L.writeBytes($L)", writer, value);
+        }
+
+        DeclaredType declaredType = (DeclaredType) type;
+        TypeElement element = (TypeElement) declaredType.asElement();
+        String qualifiedName = element.getQualifiedName().toString();
+
+        if (qualifiedName.equals(String.class.getName())) {
+            return CodeBlock.of("$L.writeString($L)", writer, value);
+        }
+        if (BOXED_ACCESSORS.containsKey(qualifiedName)) {
+            return CodeBlock.of("$L.writeNullable$L($L)", writer, BOXED_ACCESSORS.get(qualifiedName), value);
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            return CodeBlock.of("$L.writeEnum($L)", writer, value);
+        }
+        if (qualifiedName.equals(List.class.getName())) {
+            String item = "item" + depth;
+            String elementWriter = "writer" + (depth + 1);
+            return CodeBlock.of(
+                    "$L.writeList($L, ($L, $L) -> $L)",
+                    writer,
+                    value,
+                    item,
+                    elementWriter,
+                    writeCode(declaredType.getTypeArguments().get(0), CodeBlock.of("$L", item), elementWriter, codecsClassName, dtos, depth + 1)
+            );
+        }
+
+        return CodeBlock.of("$L.writeObject($L, $T.INSTANCE)", writer, value, codecClassName(codecsClassName, element, dtos));
+    }
+
+    private CodeBlock readCode(TypeMirror type, String reader, ClassName codecsClassName, Map<String, Dto> dtos, int depth) {
+        if (type.getKind().isPrimitive()) {
+            return CodeBlock.of("$L.read$L()", reader, primitiveAccessor(type));
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return CodeBlock.of("$L.readBytes()", reader);
+        }
+
+        DeclaredType declaredType = (DeclaredType) type;
+        TypeElement element = (TypeElement) declaredType.asElement();
+        String qualifiedName = element.getQualifiedName().toString();
+
+        if (qualifiedName.equals(String.class.getName())) {
+            return CodeBlock.of("$L.readString()", reader);
+        }
+        if (BOXED_ACCESSORS.containsKey(qualifiedName)) {
+            return CodeBlock.of("$L.readNullable$L()", reader, BOXED_ACCESSORS.get(qualifiedName));
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            return CodeBlock.of("$L.readEnum($T::valueOf)", reader, ClassName.get(element));
+        }
+        if (qualifiedName.equals(List.class.getName())) {
+            String elementReader = "reader" + (depth + 1);
+            return CodeBlock.of(
+                    "$L.readList($L -> $L)",
+                    reader,
+                    elementReader,
+                    readCode(declaredType.getTypeArguments().get(0), elementReader, codecsClassName, dtos, depth + 1)
+            );
+        }
+
+        return CodeBlock.of("$L.readObject($T.INSTANCE)", reader, codecClassName(codecsClassName, element, dtos));
+    }
+
+    private ClassName codecClassName(ClassName codecsClassName, TypeElement element, Map<String, Dto> dtos) {
+        return codecsClassName.nestedClass(dtos.get(element.getQualifiedName().toString()).codecSimpleName());
+    }
+
+    private String primitiveAccessor(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "Boolean";
+            case BYTE -> "Byte";
+            case SHORT -> "Short";
+            case CHAR -> "Char";
+            case INT -> "Int";
+            case LONG -> "Long";
+            case FLOAT -> "Float";
+            case DOUBLE -> "Double";
+            default -> throw new IllegalArgumentException("Unsupported primitive type " + type);
+        };
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
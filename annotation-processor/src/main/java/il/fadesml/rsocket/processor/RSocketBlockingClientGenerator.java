@@ -0,0 +1,121 @@
+package il.fadesml.rsocket.processor;
+
+import com.squareup.javapoet.*;
+import il.fadesml.rsocket.blocking.RSocketBlockingBridge;
+import il.fadesml.rsocket.constant.RSocketMethodType;
+import lombok.SneakyThrows;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.processing.Generated;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.JavaFileObject;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Generates {@code <Interface>BlockingClient}, a facade over any implementation
+ * of an {@code @RSocketApi} interface with plain return types for callers on
+ * virtual threads. {@code Mono<T>} becomes {@code T}, {@code Mono<Void>} becomes
+ * {@code void} and {@code Flux<T>} becomes {@code Stream<T>}.
+ */
+class RSocketBlockingClientGenerator {
+    private static final String BLOCKING_CLIENT_CLASS_SUFFIX = "BlockingClient";
+    private static final String DELEGATE_FIELD = "delegate";
+
+    private final ProcessingEnvironment processingEnv;
+
+    RSocketBlockingClientGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    record BlockingMethod(
+            ExecutableElement element,
+            RSocketMethodType type,
+            VariableElement dataParameter,
+            TypeMirror dataType,
+            TypeMirror responseType
+    ) { }
+
+    @SneakyThrows
+    void generate(TypeElement interfaceElement, List<BlockingMethod> methods, boolean generateAsComponent) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(interfaceElement).toString();
+        String blockingClientSimpleName = interfaceElement.getSimpleName() + BLOCKING_CLIENT_CLASS_SUFFIX;
+        ClassName interfaceClassName = ClassName.get(interfaceElement);
+
+        TypeSpec.Builder blockingClientBuilder = TypeSpec.classBuilder(blockingClientSimpleName)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(Generated.class)
+                        .addMember("value", "$S", RSocketApiAnnotationProcessor.class.getName())
+                        .build())
+                .addField(FieldSpec.builder(interfaceClassName, DELEGATE_FIELD, Modifier.PRIVATE, Modifier.FINAL).build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(interfaceClassName, DELEGATE_FIELD)
+                        .addStatement("this.$N = $N", DELEGATE_FIELD, DELEGATE_FIELD)
+                        .build());
+
+        if (generateAsComponent) {
+            blockingClientBuilder.addAnnotation(Component.class);
+        }
+
+        for (BlockingMethod method : methods) {
+            blockingClientBuilder.addMethod(createBlockingMethod(method));
+        }
+
+        String blockingClientName = packageName + "." + blockingClientSimpleName;
+        JavaFileObject blockingClientFile = processingEnv.getFiler().createSourceFile(blockingClientName, interfaceElement);
+        try (PrintWriter out = new PrintWriter(blockingClientFile.openWriter())) {
+            out.write(JavaFile.builder(packageName, blockingClientBuilder.build()).build().toString());
+        }
+    }
+
+    private MethodSpec createBlockingMethod(BlockingMethod method) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(method.element().getSimpleName().toString())
+                .addModifiers(Modifier.PUBLIC);
+
+        CodeBlock.Builder arguments = CodeBlock.builder();
+        for (VariableElement parameter : method.element().getParameters()) {
+            String parameterName = parameter.getSimpleName().toString();
+            if (!arguments.isEmpty()) {
+                arguments.add(", ");
+            }
+
+            if (!parameter.equals(method.dataParameter())) {
+                builder.addParameter(TypeName.get(parameter.asType()), parameterName);
+                arguments.add("$N", parameterName);
+            } else if (method.type() == RSocketMethodType.REQUEST_CHANNEL) {
+                builder.addParameter(
+                        ParameterizedTypeName.get(ClassName.get(Iterable.class), TypeName.get(method.dataType())),
+                        parameterName
+                );
+                arguments.add("$T.fromIterable($N)", Flux.class, parameterName);
+            } else {
+                builder.addParameter(TypeName.get(method.dataType()), parameterName);
+                arguments.add("$T.justOrEmpty($N)", Mono.class, parameterName);
+            }
+        }
+
+        CodeBlock call = CodeBlock.of("$N.$N($L)", DELEGATE_FIELD, method.element().getSimpleName().toString(), arguments.build());
+        return switch (method.type()) {
+            case REQUEST_RESPONSE -> builder
+                    .returns(TypeName.get(method.responseType()))
+                    .addStatement("return $T.await($L)", RSocketBlockingBridge.class, call)
+                    .build();
+            case FIRE_AND_FORGET, METADATA_PUSH -> builder
+                    .addStatement("$T.run($L)", RSocketBlockingBridge.class, call)
+                    .build();
+            case REQUEST_STREAM, REQUEST_CHANNEL -> builder
+                    .returns(ParameterizedTypeName.get(ClassName.get(Stream.class), TypeName.get(method.responseType())))
+                    .addStatement("return $T.stream($L)", RSocketBlockingBridge.class, call)
+                    .build();
+        };
+    }
+}
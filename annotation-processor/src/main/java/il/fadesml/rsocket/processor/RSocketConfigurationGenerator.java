@@ -0,0 +1,180 @@
+package il.fadesml.rsocket.processor;
+
+import com.squareup.javapoet.*;
+import lombok.SneakyThrows;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import javax.annotation.processing.Generated;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.tools.JavaFileObject;
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates {@code <Interface>Configuration}, explicit {@code @Bean} factory
+ * methods for the generated clients so that neither component scanning nor
+ * reflective constructor resolution is needed. The nested {@code Hints}
+ * registrar gives Spring AOT the binding hints of every DTO the interface sends
+ * or receives, so native images need no hand written reflection config.
+ */
+class RSocketConfigurationGenerator {
+    private static final String CONFIGURATION_CLASS_SUFFIX = "Configuration";
+    private static final String HINTS_CLASS_NAME = "Hints";
+    private static final List<String> PLATFORM_PACKAGES = List.of(
+            "java.", "javax.", "reactor.", "io.netty.", "io.rsocket.", "org.springframework."
+    );
+
+    private final ProcessingEnvironment processingEnv;
+
+    RSocketConfigurationGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    record ClientWiring(
+            TypeName providerType,
+            boolean metrics,
+            boolean codecs,
+            boolean blockingClient,
+            boolean autoConfiguration
+    ) { }
+
+    // Returns the qualified name of the generated configuration
+    @SneakyThrows
+    String generate(TypeElement interfaceElement, ClientWiring wiring, Collection<? extends TypeMirror> bindingTypes) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(interfaceElement).toString();
+        String interfaceName = interfaceElement.getSimpleName().toString();
+        String configurationSimpleName = interfaceName + CONFIGURATION_CLASS_SUFFIX;
+        ClassName configurationClassName = ClassName.get(packageName, configurationSimpleName);
+        ClassName clientClassName = ClassName.get(packageName, interfaceName + "Client");
+        String clientBeanName = decapitalize(interfaceName) + "Client";
+
+        TypeSpec.Builder configurationBuilder = TypeSpec.classBuilder(configurationSimpleName)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(Generated.class)
+                        .addMember("value", "$S", RSocketApiAnnotationProcessor.class.getName())
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(ImportRuntimeHints.class)
+                        .addMember("value", "$T.class", configurationClassName.nestedClass(HINTS_CLASS_NAME))
+                        .build());
+
+        // Auto-configurations are excluded from component scanning and back off when the user defines the bean
+        configurationBuilder.addAnnotation(wiring.autoConfiguration()
+                ? AnnotationSpec.builder(AutoConfiguration.class).build()
+                : AnnotationSpec.builder(Configuration.class).addMember("proxyBeanMethods", "false").build());
+        if (wiring.codecs()) {
+            configurationBuilder.addAnnotation(AnnotationSpec.builder(Import.class)
+                    .addMember("value", "$T.class", ClassName.get(packageName, interfaceName + "RSocketCodecs"))
+                    .build());
+        }
+
+        MethodSpec.Builder clientBean = createBeanMethod(clientBeanName, clientClassName, wiring.autoConfiguration())
+                .addParameter(wiring.providerType(), "provider");
+        if (wiring.metrics()) {
+            clientBean
+                    .addParameter(ClassName.get("io.micrometer.core.instrument", "MeterRegistry"), "meterRegistry")
+                    .addStatement("return new $T(provider, meterRegistry)", clientClassName);
+        } else {
+            clientBean.addStatement("return new $T(provider)", clientClassName);
+        }
+        configurationBuilder.addMethod(clientBean.build());
+
+        if (wiring.blockingClient()) {
+            ClassName blockingClientClassName = ClassName.get(packageName, interfaceName + "BlockingClient");
+            configurationBuilder.addMethod(
+                    createBeanMethod(decapitalize(interfaceName) + "BlockingClient", blockingClientClassName, wiring.autoConfiguration())
+                            .addParameter(clientClassName, clientBeanName)
+                            .addStatement("return new $T($N)", blockingClientClassName, clientBeanName)
+                            .build()
+            );
+        }
+
+        configurationBuilder.addType(createHintsType(bindingTypes));
+
+        JavaFileObject configurationFile = processingEnv.getFiler().createSourceFile(configurationClassName.toString(), interfaceElement);
+        try (PrintWriter out = new PrintWriter(configurationFile.openWriter())) {
+            out.write(JavaFile.builder(packageName, configurationBuilder.build()).build().toString());
+        }
+        return configurationClassName.toString();
+    }
+
+    private MethodSpec.Builder createBeanMethod(String name, ClassName type, boolean autoConfiguration) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(name)
+                .addAnnotation(Bean.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(type);
+        if (autoConfiguration) {
+            builder.addAnnotation(ConditionalOnMissingBean.class);
+        }
+        return builder;
+    }
+
+    private TypeSpec createHintsType(Collection<? extends TypeMirror> bindingTypes) {
+        Map<String, TypeElement> dtos = new LinkedHashMap<>();
+        for (TypeMirror bindingType : bindingTypes) {
+            collectDtos(bindingType, dtos);
+        }
+
+        MethodSpec.Builder registerHints = MethodSpec.methodBuilder("registerHints")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(RuntimeHints.class, "hints")
+                .addParameter(ClassLoader.class, "classLoader");
+        if (!dtos.isEmpty()) {
+            CodeBlock types = dtos.values().stream()
+                    .map(dto -> CodeBlock.of("$T.class", ClassName.get(dto)))
+                    .collect(CodeBlock.joining(", "));
+            // Walks the bean properties of each type, nested DTOs get their hints too
+            registerHints.addStatement(
+                    "new $T().registerReflectionHints(hints.reflection(), $L)",
+                    BindingReflectionHintsRegistrar.class,
+                    types
+            );
+        }
+
+        return TypeSpec.classBuilder(HINTS_CLASS_NAME)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addSuperinterface(RuntimeHintsRegistrar.class)
+                .addMethod(registerHints.build())
+                .build();
+    }
+
+    private void collectDtos(TypeMirror type, Map<String, TypeElement> dtos) {
+        if (type instanceof ArrayType arrayType) {
+            collectDtos(arrayType.getComponentType(), dtos);
+        } else if (type instanceof WildcardType wildcardType) {
+            if (wildcardType.getExtendsBound() != null) {
+                collectDtos(wildcardType.getExtendsBound(), dtos);
+            }
+        } else if (type instanceof DeclaredType declaredType) {
+            TypeElement element = (TypeElement) declaredType.asElement();
+            String qualifiedName = element.getQualifiedName().toString();
+            if (PLATFORM_PACKAGES.stream().noneMatch(qualifiedName::startsWith)) {
+                dtos.putIfAbsent(qualifiedName, element);
+            }
+            for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+                collectDtos(typeArgument, dtos);
+            }
+        }
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,350 @@
+package il.fadesml.rsocket.processor;
+
+import com.squareup.javapoet.*;
+import il.fadesml.rsocket.annotation.RSocketMetadata;
+import il.fadesml.rsocket.constant.RSocketMethodType;
+import il.fadesml.rsocket.server.AbstractRSocketServerAdapter;
+import il.fadesml.rsocket.server.RSocketRouteTemplate;
+import il.fadesml.rsocket.server.RSocketServerCodec;
+import io.rsocket.Payload;
+import lombok.SneakyThrows;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.processing.Generated;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Generates {@code <Interface>ServerAdapter}, a responder that routes the
+ * {@code @MessageMapping} routes of an {@code @RSocketApi} interface straight to
+ * an implementation of it. Static routes compile into a {@code switch} on the
+ * route string, templated routes into precompiled {@link RSocketRouteTemplate}
+ * constants tried in declaration order, so a request costs no reflection and no
+ * handler method lookup.
+ */
+class RSocketServerAdapterGenerator {
+    private static final String SERVER_ADAPTER_CLASS_SUFFIX = "ServerAdapter";
+    private static final String DELEGATE_FIELD = "delegate";
+    private static final String ROUTE_PARAMETER = "route";
+    private static final String PAYLOAD_PARAMETER = "payload";
+    private static final String PAYLOADS_PARAMETER = "payloads";
+    private static final String CODEC_PARAMETER = "codec";
+    private static final String VARIABLES_LOCAL = "variables";
+
+    private static final Map<TypeName, String> VARIABLE_CONVERSIONS = Map.ofEntries(
+            Map.entry(ClassName.get(String.class), "$L"),
+            Map.entry(TypeName.INT, "$T.parseInt($L)"),
+            Map.entry(ClassName.get(Integer.class), "$T.valueOf($L)"),
+            Map.entry(TypeName.LONG, "$T.parseLong($L)"),
+            Map.entry(ClassName.get(Long.class), "$T.valueOf($L)"),
+            Map.entry(TypeName.BOOLEAN, "$T.parseBoolean($L)"),
+            Map.entry(ClassName.get(Boolean.class), "$T.valueOf($L)"),
+            Map.entry(TypeName.DOUBLE, "$T.parseDouble($L)"),
+            Map.entry(ClassName.get(Double.class), "$T.valueOf($L)"),
+            Map.entry(ClassName.get(UUID.class), "$T.fromString($L)")
+    );
+
+    private final ProcessingEnvironment processingEnv;
+
+    private final Set<String> fieldNames = new HashSet<>();
+    private final Map<String, String> mimeTypeConstants = new HashMap<>();
+
+    RSocketServerAdapterGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    // Destination variables are listed in the order they appear in the route
+    record ServerMethod(
+            ExecutableElement element,
+            RSocketMethodType type,
+            String route,
+            VariableElement dataParameter,
+            TypeMirror dataType,
+            TypeMirror responseType,
+            List<VariableElement> destinationVariables,
+            List<VariableElement> metadata
+    ) { }
+
+    private record Dispatch(Map<String, CodeBlock> staticRoutes, Map<String, CodeBlock> templates) { }
+
+    @SneakyThrows
+    void generate(TypeElement interfaceElement, List<ServerMethod> methods) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(interfaceElement).toString();
+        String serverAdapterSimpleName = interfaceElement.getSimpleName() + SERVER_ADAPTER_CLASS_SUFFIX;
+        ClassName interfaceClassName = ClassName.get(interfaceElement);
+
+        TypeSpec.Builder serverAdapterBuilder = TypeSpec.classBuilder(serverAdapterSimpleName)
+                .addModifiers(Modifier.PUBLIC)
+                .superclass(AbstractRSocketServerAdapter.class)
+                .addAnnotation(AnnotationSpec.builder(Generated.class)
+                        .addMember("value", "$S", RSocketApiAnnotationProcessor.class.getName())
+                        .build())
+                .addField(FieldSpec.builder(interfaceClassName, DELEGATE_FIELD, Modifier.PRIVATE, Modifier.FINAL).build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(interfaceClassName, DELEGATE_FIELD)
+                        .addParameter(RSocketStrategies.class, "strategies")
+                        .addStatement("super(strategies)")
+                        .addStatement("this.$N = $N", DELEGATE_FIELD, DELEGATE_FIELD)
+                        .build());
+
+        Map<RSocketMethodType, Dispatch> dispatches = new EnumMap<>(RSocketMethodType.class);
+        for (RSocketMethodType type : RSocketMethodType.values()) {
+            dispatches.put(type, new Dispatch(new LinkedHashMap<>(), new LinkedHashMap<>()));
+        }
+
+        for (ServerMethod method : methods) {
+            CodeBlock invocation = createInvocation(serverAdapterBuilder, method);
+            if (invocation == null) {
+                continue;
+            }
+
+            Dispatch dispatch = dispatches.get(method.type());
+            if (method.destinationVariables().isEmpty()) {
+                if (dispatch.staticRoutes().putIfAbsent(method.route(), invocation) != null) {
+                    processingEnv.getMessager().printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "Route '" + method.route() + "' is mapped by more than one " + method.type() + " method",
+                            method.element()
+                    );
+                }
+                continue;
+            }
+
+            String templateConstant = createUniqueFieldName(method.element(), "_ROUTE_TEMPLATE");
+            serverAdapterBuilder.addField(
+                    FieldSpec.builder(RSocketRouteTemplate.class, templateConstant, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                            .initializer("$T.compile($S)", RSocketRouteTemplate.class, method.route())
+                            .build()
+            );
+            dispatch.templates().put(templateConstant, invocation);
+        }
+
+        serverAdapterBuilder
+                .addMethod(createHandleMethod("handleFireAndForget", Mono.class, TypeName.get(Void.class), false, dispatches.get(RSocketMethodType.FIRE_AND_FORGET)))
+                .addMethod(createHandleMethod("handleRequestResponse", Mono.class, TypeName.get(Payload.class), false, dispatches.get(RSocketMethodType.REQUEST_RESPONSE)))
+                .addMethod(createHandleMethod("handleRequestStream", Flux.class, TypeName.get(Payload.class), false, dispatches.get(RSocketMethodType.REQUEST_STREAM)))
+                .addMethod(createHandleMethod("handleRequestChannel", Flux.class, TypeName.get(Payload.class), true, dispatches.get(RSocketMethodType.REQUEST_CHANNEL)))
+                .addMethod(createHandleMethod("handleMetadataPush", Mono.class, TypeName.get(Void.class), false, dispatches.get(RSocketMethodType.METADATA_PUSH)));
+
+        String serverAdapterName = packageName + "." + serverAdapterSimpleName;
+        JavaFileObject serverAdapterFile = processingEnv.getFiler().createSourceFile(serverAdapterName, interfaceElement);
+        try (PrintWriter out = new PrintWriter(serverAdapterFile.openWriter())) {
+            out.write(JavaFile.builder(packageName, serverAdapterBuilder.build()).build().toString());
+        }
+    }
+
+    private MethodSpec createHandleMethod(
+            String name,
+            Class<?> publisherClass,
+            TypeName elementType,
+            boolean channel,
+            Dispatch dispatch
+    ) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(name)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(ParameterizedTypeName.get(ClassName.get(publisherClass), elementType))
+                .addParameter(String.class, ROUTE_PARAMETER)
+                .addParameter(Payload.class, PAYLOAD_PARAMETER);
+        if (channel) {
+            builder.addParameter(ParameterizedTypeName.get(Flux.class, Payload.class), PAYLOADS_PARAMETER);
+        }
+        builder.addParameter(RSocketServerCodec.class, CODEC_PARAMETER);
+
+        // String switch compiles to a hashCode lookupswitch, a perfect hash over the static routes
+        if (!dispatch.staticRoutes().isEmpty()) {
+            builder.beginControlFlow("switch ($N)", ROUTE_PARAMETER);
+            for (Map.Entry<String, CodeBlock> entry : dispatch.staticRoutes().entrySet()) {
+                builder.beginControlFlow("case $S:", entry.getKey())
+                        .addCode(entry.getValue())
+                        .endControlFlow();
+            }
+            builder.endControlFlow();
+        }
+
+        if (!dispatch.templates().isEmpty()) {
+            builder.addStatement("$T[] $N", String.class, VARIABLES_LOCAL);
+            for (Map.Entry<String, CodeBlock> entry : dispatch.templates().entrySet()) {
+                builder.beginControlFlow("if (($N = $N.match($N)) != null)", VARIABLES_LOCAL, entry.getKey(), ROUTE_PARAMETER)
+                        .addCode(entry.getValue())
+                        .endControlFlow();
+            }
+        }
+
+        return builder.addStatement("return null").build();
+    }
+
+    private CodeBlock createInvocation(TypeSpec.Builder serverAdapterBuilder, ServerMethod method) {
+        if (!isSupported(method)) {
+            return null;
+        }
+
+        CodeBlock.Builder body = CodeBlock.builder();
+        List<CodeBlock> arguments = new ArrayList<>();
+
+        // Metadata is read first, decoding the data releases the payload
+        List<VariableElement> metadata = method.metadata();
+        for (int i = 0; i < metadata.size(); i++) {
+            VariableElement parameter = metadata.get(i);
+            String mimeType = parameter.getAnnotation(RSocketMetadata.class).mimeType();
+            String mimeTypeConstant = mimeTypeConstants.computeIfAbsent(mimeType, value -> {
+                String constantName = createUniqueFieldName(
+                        value.replaceAll("[^A-Za-z0-9]+", "_").toUpperCase(Locale.ROOT) + "_MIME_TYPE"
+                );
+                serverAdapterBuilder.addField(
+                        FieldSpec.builder(MimeType.class, constantName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                                .initializer("$T.valueOf($S)", MimeType.class, value)
+                                .build()
+                );
+                return constantName;
+            });
+            String typeConstant = createTypeConstant(
+                    serverAdapterBuilder,
+                    method.element(),
+                    "_METADATA_" + i + "_TYPE",
+                    parameter.asType()
+            );
+
+            body.addStatement(
+                    "$T metadata$L = $N.decodeMetadata($N, $N, $N)",
+                    TypeName.get(parameter.asType()).box(),
+                    i,
+                    CODEC_PARAMETER,
+                    PAYLOAD_PARAMETER,
+                    mimeTypeConstant,
+                    typeConstant
+            );
+        }
+
+        for (VariableElement parameter : method.element().getParameters()) {
+            if (parameter.equals(method.dataParameter())) {
+                String dataTypeConstant = createTypeConstant(serverAdapterBuilder, method.element(), "_DATA_TYPE", method.dataType());
+                arguments.add(method.type() == RSocketMethodType.REQUEST_CHANNEL
+                        ? CodeBlock.of("$N.decodeAll($N, $N)", CODEC_PARAMETER, PAYLOADS_PARAMETER, dataTypeConstant)
+                        : CodeBlock.of("$N.decode($N, $N)", CODEC_PARAMETER, PAYLOAD_PARAMETER, dataTypeConstant));
+            } else if (metadata.contains(parameter)) {
+                arguments.add(CodeBlock.of("metadata$L", metadata.indexOf(parameter)));
+            } else {
+                TypeName variableType = TypeName.get(parameter.asType());
+                CodeBlock variable = CodeBlock.of("$N[$L]", VARIABLES_LOCAL, method.destinationVariables().indexOf(parameter));
+                arguments.add(variableType.equals(ClassName.get(String.class))
+                        ? variable
+                        : CodeBlock.of(VARIABLE_CONVERSIONS.get(variableType), variableType.box(), variable));
+            }
+        }
+
+        CodeBlock call = CodeBlock.of(
+                "$N.$N($L)",
+                DELEGATE_FIELD,
+                method.element().getSimpleName().toString(),
+                CodeBlock.join(arguments, ", ")
+        );
+
+        switch (method.type()) {
+            case FIRE_AND_FORGET -> body.addStatement("return $L", call);
+            case METADATA_PUSH -> body
+                    .addStatement("$N.release()", PAYLOAD_PARAMETER)
+                    .addStatement("return $L", call);
+            case REQUEST_RESPONSE -> body.addStatement(
+                    "return $N.encode($L, $N)",
+                    CODEC_PARAMETER,
+                    call,
+                    createTypeConstant(serverAdapterBuilder, method.element(), "_RESPONSE_TYPE", method.responseType())
+            );
+            case REQUEST_STREAM, REQUEST_CHANNEL -> body.addStatement(
+                    "return $N.encodeAll($L, $N)",
+                    CODEC_PARAMETER,
+                    call,
+                    createTypeConstant(serverAdapterBuilder, method.element(), "_RESPONSE_TYPE", method.responseType())
+            );
+        }
+        return body.build();
+    }
+
+    // Unsupported methods are left to the fallback handler, checked before any constant is added
+    private boolean isSupported(ServerMethod method) {
+        for (VariableElement parameter : method.element().getParameters()) {
+            if (parameter.equals(method.dataParameter()) || method.metadata().contains(parameter)) {
+                continue;
+            }
+
+            if (!method.destinationVariables().contains(parameter)) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.WARNING,
+                        "Parameter is not supported by the server adapter, the method is left to the fallback handler",
+                        parameter
+                );
+                return false;
+            }
+            if (!VARIABLE_CONVERSIONS.containsKey(TypeName.get(parameter.asType()))) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.WARNING,
+                        "@DestinationVariable of type " + parameter.asType() + " is not supported by the server adapter, the method is left to the fallback handler",
+                        parameter
+                );
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String createTypeConstant(
+            TypeSpec.Builder serverAdapterBuilder,
+            ExecutableElement methodElement,
+            String suffix,
+            TypeMirror type
+    ) {
+        TypeName typeName = TypeName.get(type).box();
+        String constantName = createUniqueFieldName(methodElement, suffix);
+
+        FieldSpec.Builder field = FieldSpec.builder(ResolvableType.class, constantName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL);
+        if (typeName instanceof ParameterizedTypeName) {
+            field.initializer(
+                    "$T.forType(new $T() {})",
+                    ResolvableType.class,
+                    ParameterizedTypeName.get(ClassName.get(ParameterizedTypeReference.class), typeName)
+            );
+        } else {
+            field.initializer("$T.forClass($T.class)", ResolvableType.class, typeName);
+        }
+
+        serverAdapterBuilder.addField(field.build());
+        return constantName;
+    }
+
+    private String createUniqueFieldName(ExecutableElement methodElement, String suffix) {
+        String methodName = methodElement.getSimpleName().toString();
+        return createUniqueFieldName(methodName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT) + suffix);
+    }
+
+    private String createUniqueFieldName(String baseName) {
+        String fieldName = baseName;
+        for (int index = 1; !fieldNames.add(fieldName); index++) {
+            fieldName = baseName + "_" + index;
+        }
+        return fieldName;
+    }
+}
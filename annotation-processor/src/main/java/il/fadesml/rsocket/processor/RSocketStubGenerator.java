@@ -0,0 +1,174 @@
+package il.fadesml.rsocket.processor;
+
+import com.squareup.javapoet.*;
+import il.fadesml.rsocket.constant.RSocketMethodType;
+import il.fadesml.rsocket.stub.RSocketCallRecorder;
+import il.fadesml.rsocket.stub.RSocketStubRoute;
+import lombok.SneakyThrows;
+
+import javax.annotation.processing.Generated;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code <Interface>Stub}, an in-memory implementation of an
+ * {@code @RSocketApi} interface for load and integration tests. Every method
+ * owns one {@link RSocketStubRoute} field, so a call costs no lookup. Routes are
+ * programmed through {@code route(String)} with the {@code @MessageMapping}
+ * value and record into one shared ring buffer.
+ */
+class RSocketStubGenerator {
+    private static final String STUB_CLASS_SUFFIX = "Stub";
+    private static final String RECORDER_FIELD = "recorder";
+    private static final String ROUTES_FIELD = "routes";
+    private static final int DEFAULT_RECORDER_CAPACITY = 4096;
+
+    private final ProcessingEnvironment processingEnv;
+
+    RSocketStubGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    record StubMethod(
+            ExecutableElement element,
+            RSocketMethodType type,
+            String route,
+            VariableElement dataParameter
+    ) { }
+
+    @SneakyThrows
+    void generate(TypeElement interfaceElement, List<StubMethod> methods) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(interfaceElement).toString();
+        String stubSimpleName = interfaceElement.getSimpleName() + STUB_CLASS_SUFFIX;
+        ClassName stubClassName = ClassName.get(packageName, stubSimpleName);
+        ParameterizedTypeName routesType = ParameterizedTypeName.get(Map.class, String.class, RSocketStubRoute.class);
+
+        TypeSpec.Builder stubBuilder = TypeSpec.classBuilder(stubSimpleName)
+                .addModifiers(Modifier.PUBLIC)
+                .addSuperinterface(ClassName.get(interfaceElement))
+                .addAnnotation(AnnotationSpec.builder(Generated.class)
+                        .addMember("value", "$S", RSocketApiAnnotationProcessor.class.getName())
+                        .build())
+                .addField(FieldSpec.builder(RSocketCallRecorder.class, RECORDER_FIELD, Modifier.PRIVATE, Modifier.FINAL).build())
+                .addField(FieldSpec.builder(routesType, ROUTES_FIELD, Modifier.PRIVATE, Modifier.FINAL).build());
+
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "recorderCapacity")
+                .addStatement("this.$N = new $T(recorderCapacity)", RECORDER_FIELD, RSocketCallRecorder.class);
+
+        Set<String> fieldNames = new HashSet<>(List.of(RECORDER_FIELD, ROUTES_FIELD));
+        Map<String, String> routeFields = new LinkedHashMap<>();
+        for (StubMethod method : methods) {
+            String methodName = method.element().getSimpleName().toString();
+            String fieldName = methodName + "Route";
+            for (int index = 1; !fieldNames.add(fieldName); index++) {
+                fieldName = methodName + "Route" + index;
+            }
+
+            stubBuilder.addField(FieldSpec.builder(RSocketStubRoute.class, fieldName, Modifier.PRIVATE, Modifier.FINAL).build());
+            constructor.addStatement(
+                    "this.$N = new $T($S, $S, $N)",
+                    fieldName,
+                    RSocketStubRoute.class,
+                    methodName,
+                    method.route(),
+                    RECORDER_FIELD
+            );
+            if (routeFields.putIfAbsent(method.route(), fieldName) != null) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.WARNING,
+                        "Route '" + method.route() + "' is shared by several methods, route(String) of the stub returns the first one",
+                        method.element()
+                );
+            }
+
+            stubBuilder.addMethod(createStubMethod(method, fieldName));
+        }
+
+        CodeBlock routeEntries = routeFields.entrySet().stream()
+                .map(entry -> CodeBlock.of("$T.entry($S, $N)", Map.class, entry.getKey(), entry.getValue()))
+                .collect(CodeBlock.joining(",\n"));
+        constructor.addStatement("this.$N = $T.ofEntries($L)", ROUTES_FIELD, Map.class, routeEntries);
+
+        stubBuilder
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("this($L)", DEFAULT_RECORDER_CAPACITY)
+                        .build())
+                .addMethod(constructor.build())
+                .addMethod(MethodSpec.methodBuilder("route")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(RSocketStubRoute.class)
+                        .addParameter(String.class, "route")
+                        .addStatement("$T stubRoute = $N.get(route)", RSocketStubRoute.class, ROUTES_FIELD)
+                        .beginControlFlow("if (stubRoute == null)")
+                        .addStatement(
+                                "throw new $T($S + route + $S)",
+                                IllegalArgumentException.class,
+                                "Route '",
+                                "' is not part of " + interfaceElement.getSimpleName()
+                        )
+                        .endControlFlow()
+                        .addStatement("return stubRoute")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getRecorder")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(RSocketCallRecorder.class)
+                        .addStatement("return $N", RECORDER_FIELD)
+                        .build());
+
+        JavaFileObject stubFile = processingEnv.getFiler().createSourceFile(stubClassName.toString(), interfaceElement);
+        try (PrintWriter out = new PrintWriter(stubFile.openWriter())) {
+            out.write(JavaFile.builder(packageName, stubBuilder.build()).build().toString());
+        }
+    }
+
+    private MethodSpec createStubMethod(StubMethod method, String routeField) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(method.element().getSimpleName().toString())
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.get(method.element().getReturnType()));
+
+        List<CodeBlock> arguments = new ArrayList<>();
+        for (VariableElement parameter : method.element().getParameters()) {
+            String parameterName = parameter.getSimpleName().toString();
+            builder.addParameter(TypeName.get(parameter.asType()), parameterName);
+            if (!parameter.equals(method.dataParameter())) {
+                arguments.add(CodeBlock.of("$N", parameterName));
+            }
+        }
+
+        CodeBlock argumentArray = arguments.isEmpty()
+                ? CodeBlock.of("$T.NO_ARGUMENTS", RSocketStubRoute.class)
+                : CodeBlock.of("new $T[] {$L}", Object.class, CodeBlock.join(arguments, ", "));
+        String data = method.dataParameter() != null ? method.dataParameter().getSimpleName().toString() : null;
+
+        return switch (method.type()) {
+            case REQUEST_RESPONSE, FIRE_AND_FORGET -> builder
+                    .addStatement("return $N.mono($L, $N)", routeField, argumentArray, data)
+                    .build();
+            case METADATA_PUSH -> builder
+                    .addStatement("return $N.mono($L, null)", routeField, argumentArray)
+                    .build();
+            case REQUEST_STREAM -> builder
+                    .addStatement("return $N.flux($L, $N)", routeField, argumentArray, data)
+                    .build();
+            case REQUEST_CHANNEL -> builder
+                    .addStatement("return $N.channel($L, $N)", routeField, argumentArray, data)
+                    .build();
+        };
+    }
+}
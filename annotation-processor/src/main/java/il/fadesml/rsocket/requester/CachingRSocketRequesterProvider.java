@@ -0,0 +1,101 @@
+package il.fadesml.rsocket.requester;
+
+import il.fadesml.rsocket.annotation.RSocketRequesterProvider;
+import io.rsocket.RSocket;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resolves the requester of the delegate provider once and shares it until the
+ * underlying {@link RSocket} is closed or the requester is disposed.
+ * Re-resolution is single-flight: concurrent callers observing a closed
+ * connection wait for the one caller that asks the delegate for a new requester.
+ * <p>
+ * Lanes share the cached requester, and so its connection, unless the delegate
+ * overrides {@link RSocketRequesterProvider#getRSocketRequester(String)}. Then
+ * every lane is cached on its own in the same way and holds its own connection.
+ */
+public class CachingRSocketRequesterProvider implements RSocketRequesterProvider {
+    private final RSocketRequesterProvider delegate;
+    private final ReentrantLock resolveLock = new ReentrantLock();
+    private final Map<String, CachingRSocketRequesterProvider> lanes = new ConcurrentHashMap<>();
+    private final boolean laneAware;
+
+    private volatile RSocketRequester requester;
+
+    public CachingRSocketRequesterProvider(RSocketRequesterProvider delegate) {
+        this.delegate = delegate;
+        this.laneAware = overridesLaneLookup(delegate);
+    }
+
+    @Override
+    public RSocketRequester getRSocketRequester() {
+        RSocketRequester current = requester;
+        if (current != null && !current.isDisposed()) {
+            return current;
+        }
+
+        resolveLock.lock();
+        try {
+            current = requester;
+            if (current == null || current.isDisposed()) {
+                current = delegate.getRSocketRequester();
+                watchConnection(current);
+                requester = current;
+            }
+            return current;
+        } finally {
+            resolveLock.unlock();
+        }
+    }
+
+    @Override
+    public RSocketRequester getRSocketRequester(String lane) {
+        if (!laneAware) {
+            return getRSocketRequester();
+        }
+        return lanes.computeIfAbsent(lane, name -> new CachingRSocketRequesterProvider(() -> delegate.getRSocketRequester(name)))
+                .getRSocketRequester();
+    }
+
+    public void invalidate() {
+        RSocketRequester current = requester;
+        if (current != null) {
+            invalidate(current);
+        }
+        lanes.values().forEach(CachingRSocketRequesterProvider::invalidate);
+    }
+
+    private static boolean overridesLaneLookup(RSocketRequesterProvider provider) {
+        try {
+            return provider.getClass().getMethod("getRSocketRequester", String.class).getDeclaringClass()
+                    != RSocketRequesterProvider.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private void watchConnection(RSocketRequester resolved) {
+        resolved.rsocketClient()
+                .source()
+                .flatMap(RSocket::onClose)
+                .onErrorResume(ignored -> Mono.empty())
+                .doFinally(ignored -> invalidate(resolved))
+                .subscribe();
+    }
+
+    private void invalidate(RSocketRequester expected) {
+        resolveLock.lock();
+        try {
+            if (requester == expected) {
+                requester = null;
+            }
+        } finally {
+            resolveLock.unlock();
+        }
+    }
+}
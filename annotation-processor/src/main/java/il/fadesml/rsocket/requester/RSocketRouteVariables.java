@@ -0,0 +1,19 @@
+package il.fadesml.rsocket.requester;
+
+/**
+ * Route variable expansion for templated routes that the generated clients
+ * concatenate at compile time. Values are escaped exactly like Spring's
+ * {@code MetadataEncoder} does when a template and variables are passed to
+ * {@code route(...)}, so a value containing {@code '.'} can not be taken for a
+ * route separator and the wire format does not depend on which path built it.
+ */
+public final class RSocketRouteVariables {
+
+    private RSocketRouteVariables() {
+    }
+
+    public static String expand(Object value) {
+        String expanded = String.valueOf(value);
+        return expanded.indexOf('.') >= 0 ? expanded.replace(".", "%2E") : expanded;
+    }
+}
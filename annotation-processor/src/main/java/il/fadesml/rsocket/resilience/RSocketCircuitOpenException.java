@@ -0,0 +1,8 @@
+package il.fadesml.rsocket.resilience;
+
+public class RSocketCircuitOpenException extends RuntimeException {
+
+    public RSocketCircuitOpenException(String message) {
+        super(message);
+    }
+}
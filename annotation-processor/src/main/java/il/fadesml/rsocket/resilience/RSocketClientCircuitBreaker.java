@@ -0,0 +1,160 @@
+package il.fadesml.rsocket.resilience;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free circuit breaker shared by all methods of one generated client.
+ * Outcomes are counted in a tumbling window of {@code windowSize} calls; once
+ * at least {@code minimumCalls} were seen and the failure rate reaches the
+ * threshold the circuit opens and calls fail fast with
+ * {@link RSocketCircuitOpenException}. After {@code openMillis} a single probe
+ * call is let through, its outcome closes or re-opens the circuit.
+ * <p>
+ * Every call holds a {@link Permit} of the phase it was admitted in. Outcomes of
+ * permits from an earlier phase are ignored, so calls that were in flight when
+ * the circuit opened can neither close nor re-open it. The probe is decided by
+ * its first element, a stream does not have to complete, and a probe without
+ * any signal for {@code openMillis} (at least one second) is replaced by the
+ * next call.
+ * <p>
+ * The window counters are reset without a lock, so a few outcomes around a
+ * reset may be lost. That keeps the hot path at two atomic increments.
+ */
+public class RSocketClientCircuitBreaker {
+    private static final long MIN_PROBE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private record Phase(State state, long generation, long sinceNanos) { }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final int windowSize;
+    private final long openNanos;
+    private final long probeTimeoutNanos;
+
+    private final AtomicReference<Phase> phase = new AtomicReference<>(new Phase(State.CLOSED, 0, System.nanoTime()));
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public RSocketClientCircuitBreaker(String name, int failureRateThreshold, int minimumCalls, int windowSize, long openMillis) {
+        if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("failureRateThreshold must be between 1 and 100");
+        }
+        if (minimumCalls < 1 || windowSize < minimumCalls) {
+            throw new IllegalArgumentException("minimumCalls must be positive and not larger than windowSize");
+        }
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.windowSize = windowSize;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.probeTimeoutNanos = Math.max(openNanos, MIN_PROBE_TIMEOUT_NANOS);
+    }
+
+    public <T> Mono<T> protect(Mono<T> source) {
+        return Mono.defer(() -> {
+            Permit permit = tryAcquire();
+            if (permit == null) {
+                return Mono.error(new RSocketCircuitOpenException("Circuit of " + name + " is open"));
+            }
+            return source.doOnEach(permit::onSignal).doOnCancel(permit::onCancel);
+        });
+    }
+
+    public <T> Flux<T> protectStream(Flux<T> source) {
+        return Flux.defer(() -> {
+            Permit permit = tryAcquire();
+            if (permit == null) {
+                return Flux.error(new RSocketCircuitOpenException("Circuit of " + name + " is open"));
+            }
+            return source.doOnEach(permit::onSignal).doOnCancel(permit::onCancel);
+        });
+    }
+
+    public State getState() {
+        return phase.get().state();
+    }
+
+    // Null when the call is rejected
+    Permit tryAcquire() {
+        Phase current = phase.get();
+        return switch (current.state()) {
+            case CLOSED -> new Permit(current, false);
+            case OPEN -> System.nanoTime() - current.sinceNanos() >= openNanos ? startProbe(current) : null;
+            // The probe went silent, the next call takes over and the old outcome no longer counts
+            case HALF_OPEN -> System.nanoTime() - current.sinceNanos() >= probeTimeoutNanos ? startProbe(current) : null;
+        };
+    }
+
+    private Permit startProbe(Phase current) {
+        Phase probing = new Phase(State.HALF_OPEN, current.generation() + 1, System.nanoTime());
+        return phase.compareAndSet(current, probing) ? new Permit(probing, true) : null;
+    }
+
+    private void record(Phase admittedIn, boolean failure) {
+        int currentCalls = calls.incrementAndGet();
+        int currentFailures = failure ? failures.incrementAndGet() : failures.get();
+
+        if (currentCalls >= minimumCalls && currentFailures * 100L >= (long) failureRateThreshold * currentCalls) {
+            transition(admittedIn, State.OPEN, System.nanoTime());
+        }
+        if (currentCalls >= windowSize) {
+            calls.set(0);
+            failures.set(0);
+        }
+    }
+
+    private void transition(Phase expected, State state, long sinceNanos) {
+        if (phase.compareAndSet(expected, new Phase(state, expected.generation() + 1, sinceNanos))) {
+            calls.set(0);
+            failures.set(0);
+        }
+    }
+
+    final class Permit {
+        private final Phase admittedIn;
+        private final boolean probe;
+        private boolean decided;
+
+        private Permit(Phase admittedIn, boolean probe) {
+            this.admittedIn = admittedIn;
+            this.probe = probe;
+        }
+
+        boolean isProbe() {
+            return probe;
+        }
+
+        void onSignal(Signal<?> signal) {
+            if (decided || !((probe && signal.isOnNext()) || signal.isOnComplete() || signal.isOnError())) {
+                return;
+            }
+            decided = true;
+            onOutcome(signal.isOnError());
+        }
+
+        void onCancel() {
+            // A cancelled probe proves nothing, the next call probes again
+            if (!decided && probe) {
+                decided = true;
+                transition(admittedIn, State.OPEN, System.nanoTime() - openNanos);
+            }
+        }
+
+        private void onOutcome(boolean failure) {
+            if (probe) {
+                transition(admittedIn, failure ? State.OPEN : State.CLOSED, System.nanoTime());
+            } else if (phase.get() == admittedIn) {
+                record(admittedIn, failure);
+            }
+        }
+    }
+}
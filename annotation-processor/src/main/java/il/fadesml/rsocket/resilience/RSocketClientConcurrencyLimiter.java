@@ -0,0 +1,79 @@
+package il.fadesml.rsocket.resilience;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of in-flight calls of one generated client with a single
+ * atomic counter. Calls over the limit fail with
+ * {@link RSocketRejectedException}; fire-and-forget calls may instead be
+ * dropped, which completes them empty and counts them.
+ */
+public class RSocketClientConcurrencyLimiter {
+    private final String name;
+    private final int maxConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    public RSocketClientConcurrencyLimiter(String name, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public <T> Mono<T> limit(Mono<T> source) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                return Mono.error(rejected());
+            }
+            return source.doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    public <T> Flux<T> limitStream(Flux<T> source) {
+        return Flux.defer(() -> {
+            if (!tryAcquire()) {
+                return Flux.error(rejected());
+            }
+            return source.doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    public Mono<Void> limitOrDrop(Mono<Void> source) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                dropped.increment();
+                return Mono.empty();
+            }
+            return source.doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private RSocketRejectedException rejected() {
+        return new RSocketRejectedException(name + " has " + maxConcurrent + " calls in flight");
+    }
+}
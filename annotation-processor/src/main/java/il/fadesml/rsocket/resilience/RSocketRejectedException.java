@@ -0,0 +1,8 @@
+package il.fadesml.rsocket.resilience;
+
+public class RSocketRejectedException extends RuntimeException {
+
+    public RSocketRejectedException(String message) {
+        super(message);
+    }
+}
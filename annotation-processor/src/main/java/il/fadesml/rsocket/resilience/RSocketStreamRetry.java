@@ -0,0 +1,27 @@
+package il.fadesml.rsocket.resilience;
+
+import reactor.core.publisher.Flux;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Retry of a request stream that never repeats an element. The stream is
+ * subscribed again only while it has not emitted anything, an error after the
+ * first element reaches the caller unchanged, since a new subscription would
+ * replay the elements the caller already received.
+ */
+public final class RSocketStreamRetry {
+
+    private RSocketStreamRetry() {
+    }
+
+    public static <T> Flux<T> beforeFirstElement(Flux<T> source, RetryBackoffSpec retry) {
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return source
+                    .doOnNext(element -> emitted.set(true))
+                    .retryWhen(retry.filter(exception -> !emitted.get()));
+        });
+    }
+}
@@ -0,0 +1,215 @@
+package il.fadesml.rsocket.server;
+
+import il.fadesml.rsocket.compression.RSocketCompressionInterceptor;
+import io.rsocket.ConnectionSetupPayload;
+import io.rsocket.Payload;
+import io.rsocket.RSocket;
+import io.rsocket.SocketAcceptor;
+import io.rsocket.exceptions.ApplicationErrorException;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.rsocket.server.RSocketServerCustomizer;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class of the generated {@code <Interface>ServerAdapter}. It is a
+ * {@link SocketAcceptor} whose responder extracts the route once per request and
+ * hands it to the generated {@code handle*} methods, which dispatch over a
+ * precomputed route table straight to the implementation bean. A {@code null}
+ * result means the route is not part of the interface and the request goes to
+ * the fallback responder, usually Spring's {@link RSocketMessageHandler}.
+ */
+public abstract class AbstractRSocketServerAdapter implements SocketAcceptor {
+    private final RSocketStrategies strategies;
+    private final Map<String, RSocketServerCodec> codecs = new ConcurrentHashMap<>();
+
+    private volatile SocketAcceptor fallback;
+
+    protected AbstractRSocketServerAdapter(RSocketStrategies strategies) {
+        this.strategies = strategies;
+    }
+
+    public void setFallback(SocketAcceptor fallback) {
+        this.fallback = fallback;
+    }
+
+    // Serves the interface routes first and everything else with the handler's @MessageMapping methods,
+    // compressed exchanges negotiated by generated clients are handled for both
+    public RSocketServerCustomizer asServerCustomizer(RSocketMessageHandler messageHandler) {
+        setFallback(messageHandler.responder());
+        return server -> server
+                .acceptor(this)
+                .interceptors(registry -> registry.forResponder(RSocketCompressionInterceptor.responder()));
+    }
+
+    @Override
+    public Mono<RSocket> accept(ConnectionSetupPayload setup, RSocket sendingSocket) {
+        String dataMimeType = setup.dataMimeType();
+        String metadataMimeType = setup.metadataMimeType();
+        RSocketServerCodec codec = codecs.computeIfAbsent(
+                dataMimeType + ' ' + metadataMimeType,
+                key -> new RSocketServerCodec(
+                        strategies,
+                        MimeTypeUtils.parseMimeType(dataMimeType),
+                        MimeTypeUtils.parseMimeType(metadataMimeType)
+                )
+        );
+
+        SocketAcceptor currentFallback = fallback;
+        if (currentFallback == null) {
+            return Mono.just(new AdapterRSocket(codec, null));
+        }
+        return currentFallback.accept(setup, sendingSocket)
+                .map(fallbackSocket -> new AdapterRSocket(codec, fallbackSocket));
+    }
+
+    protected abstract Mono<Void> handleFireAndForget(String route, Payload payload, RSocketServerCodec codec);
+
+    protected abstract Mono<Payload> handleRequestResponse(String route, Payload payload, RSocketServerCodec codec);
+
+    protected abstract Flux<Payload> handleRequestStream(String route, Payload payload, RSocketServerCodec codec);
+
+    // The payloads flux starts with the first payload
+    protected abstract Flux<Payload> handleRequestChannel(
+            String route,
+            Payload first,
+            Flux<Payload> payloads,
+            RSocketServerCodec codec
+    );
+
+    protected abstract Mono<Void> handleMetadataPush(String route, Payload payload, RSocketServerCodec codec);
+
+    private static ApplicationErrorException noHandler(String route) {
+        return new ApplicationErrorException("No handler for destination '" + route + "'");
+    }
+
+    private static void releaseIfRetained(Payload payload) {
+        if (payload.refCnt() > 0) {
+            payload.release();
+        }
+    }
+
+    private class AdapterRSocket implements RSocket {
+        private final RSocketServerCodec codec;
+        private final RSocket fallbackSocket;
+
+        AdapterRSocket(RSocketServerCodec codec, RSocket fallbackSocket) {
+            this.codec = codec;
+            this.fallbackSocket = fallbackSocket;
+        }
+
+        @Override
+        public Mono<Void> fireAndForget(Payload payload) {
+            try {
+                String route = codec.route(payload);
+                Mono<Void> result = route != null ? handleFireAndForget(route, payload, codec) : null;
+                if (result != null) {
+                    return result;
+                }
+                if (fallbackSocket != null) {
+                    return fallbackSocket.fireAndForget(payload);
+                }
+                payload.release();
+                return Mono.error(noHandler(route));
+            } catch (Throwable exception) {
+                releaseIfRetained(payload);
+                return Mono.error(exception);
+            }
+        }
+
+        @Override
+        public Mono<Payload> requestResponse(Payload payload) {
+            try {
+                String route = codec.route(payload);
+                Mono<Payload> result = route != null ? handleRequestResponse(route, payload, codec) : null;
+                if (result != null) {
+                    return result;
+                }
+                if (fallbackSocket != null) {
+                    return fallbackSocket.requestResponse(payload);
+                }
+                payload.release();
+                return Mono.error(noHandler(route));
+            } catch (Throwable exception) {
+                releaseIfRetained(payload);
+                return Mono.error(exception);
+            }
+        }
+
+        @Override
+        public Flux<Payload> requestStream(Payload payload) {
+            try {
+                String route = codec.route(payload);
+                Flux<Payload> result = route != null ? handleRequestStream(route, payload, codec) : null;
+                if (result != null) {
+                    return result;
+                }
+                if (fallbackSocket != null) {
+                    return fallbackSocket.requestStream(payload);
+                }
+                payload.release();
+                return Flux.error(noHandler(route));
+            } catch (Throwable exception) {
+                releaseIfRetained(payload);
+                return Flux.error(exception);
+            }
+        }
+
+        @Override
+        public Flux<Payload> requestChannel(Publisher<Payload> payloads) {
+            return Flux.from(payloads).switchOnFirst((signal, flux) -> {
+                Payload first = signal.get();
+                if (first == null) {
+                    return flux;
+                }
+
+                try {
+                    String route = codec.route(first);
+                    Flux<Payload> result = route != null ? handleRequestChannel(route, first, flux, codec) : null;
+                    if (result != null) {
+                        return result;
+                    }
+                    if (fallbackSocket != null) {
+                        return fallbackSocket.requestChannel(flux);
+                    }
+                    return flux.take(1).doOnNext(Payload::release).thenMany(Flux.error(noHandler(route)));
+                } catch (Throwable exception) {
+                    return flux.take(1).doOnNext(AbstractRSocketServerAdapter::releaseIfRetained)
+                            .thenMany(Flux.error(exception));
+                }
+            }, false);
+        }
+
+        @Override
+        public Mono<Void> metadataPush(Payload payload) {
+            try {
+                String route = codec.route(payload);
+                Mono<Void> result = route != null ? handleMetadataPush(route, payload, codec) : null;
+                if (result != null) {
+                    return result;
+                }
+                if (fallbackSocket != null) {
+                    return fallbackSocket.metadataPush(payload);
+                }
+                payload.release();
+                return Mono.error(noHandler(route));
+            } catch (Throwable exception) {
+                releaseIfRetained(payload);
+                return Mono.error(exception);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (fallbackSocket != null) {
+                fallbackSocket.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package il.fadesml.rsocket.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code @MessageMapping} route with {@code {variable}} placeholders, parsed
+ * once. Matching walks the literal parts with {@code regionMatches} and
+ * {@code indexOf} and never builds a regex. Like Spring's default
+ * {@code "."} separated route matcher, a variable never spans a {@code '.'}.
+ */
+public final class RSocketRouteTemplate {
+    private static final char SEPARATOR = '.';
+
+    private final String template;
+    // Literal before each variable, the last entry is the trailing literal
+    private final String[] literals;
+
+    private RSocketRouteTemplate(String template, String[] literals) {
+        this.template = template;
+        this.literals = literals;
+    }
+
+    public static RSocketRouteTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        int position = 0;
+        int variableStart;
+        while ((variableStart = template.indexOf('{', position)) >= 0) {
+            int variableEnd = template.indexOf('}', variableStart);
+            if (variableEnd < 0) {
+                throw new IllegalArgumentException("Malformed route template '" + template + "'");
+            }
+            literals.add(template.substring(position, variableStart));
+            position = variableEnd + 1;
+        }
+        literals.add(template.substring(position));
+
+        return new RSocketRouteTemplate(template, literals.toArray(String[]::new));
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public int getVariableCount() {
+        return literals.length - 1;
+    }
+
+    // Variable values in template order, or null when the route does not match
+    public String[] match(String route) {
+        String[] variables = new String[literals.length - 1];
+
+        String first = literals[0];
+        if (!route.startsWith(first)) {
+            return null;
+        }
+        int position = first.length();
+
+        for (int i = 0; i < variables.length; i++) {
+            String next = literals[i + 1];
+            boolean last = i == variables.length - 1;
+
+            int variableEnd;
+            if (last && next.isEmpty()) {
+                variableEnd = route.length();
+            } else if (last) {
+                variableEnd = route.length() - next.length();
+                if (variableEnd < position || !route.startsWith(next, variableEnd)) {
+                    return null;
+                }
+            } else {
+                variableEnd = next.isEmpty() ? -1 : route.indexOf(next, position);
+                if (variableEnd < 0) {
+                    return null;
+                }
+            }
+
+            int separator = route.indexOf(SEPARATOR, position);
+            if (variableEnd == position || (separator >= 0 && separator < variableEnd)) {
+                return null;
+            }
+            variables[i] = route.substring(position, variableEnd);
+            position = variableEnd + next.length();
+        }
+
+        if (variables.length == 0 && position != route.length()) {
+            return null;
+        }
+        return variables;
+    }
+}
@@ -0,0 +1,143 @@
+package il.fadesml.rsocket.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.rsocket.Payload;
+import io.rsocket.metadata.CompositeMetadata;
+import io.rsocket.metadata.RoutingMetadata;
+import io.rsocket.metadata.WellKnownMimeType;
+import io.rsocket.util.ByteBufPayload;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route extraction and payload conversion for the connections sharing one data
+ * and metadata mime type. Decoders and encoders are resolved once per type and
+ * cached. Decoding releases the payload, encoded values become payloads that own
+ * their buffer.
+ */
+public class RSocketServerCodec {
+    private static final MimeType COMPOSITE_METADATA =
+            MimeTypeUtils.parseMimeType(WellKnownMimeType.MESSAGE_RSOCKET_COMPOSITE_METADATA.getString());
+    private static final MimeType ROUTING_METADATA =
+            MimeTypeUtils.parseMimeType(WellKnownMimeType.MESSAGE_RSOCKET_ROUTING.getString());
+
+    private final RSocketStrategies strategies;
+    private final MimeType dataMimeType;
+    private final boolean compositeMetadata;
+    private final boolean routingMetadata;
+    private final NettyDataBufferFactory bufferFactory;
+
+    private final Map<ResolvableType, Decoder<?>> decoders = new ConcurrentHashMap<>();
+    private final Map<ResolvableType, Encoder<?>> encoders = new ConcurrentHashMap<>();
+
+    public RSocketServerCodec(RSocketStrategies strategies, MimeType dataMimeType, MimeType metadataMimeType) {
+        this.strategies = strategies;
+        this.dataMimeType = dataMimeType;
+        this.compositeMetadata = COMPOSITE_METADATA.equalsTypeAndSubtype(metadataMimeType);
+        this.routingMetadata = ROUTING_METADATA.equalsTypeAndSubtype(metadataMimeType);
+
+        DataBufferFactory factory = strategies.dataBufferFactory();
+        this.bufferFactory = factory instanceof NettyDataBufferFactory nettyFactory
+                ? nettyFactory
+                : new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+    }
+
+    public String route(Payload payload) {
+        if (!payload.hasMetadata()) {
+            return null;
+        }
+
+        if (compositeMetadata) {
+            for (CompositeMetadata.Entry entry : new CompositeMetadata(payload.sliceMetadata(), false)) {
+                if (WellKnownMimeType.MESSAGE_RSOCKET_ROUTING.getString().equals(entry.getMimeType())) {
+                    return firstTag(entry.getContent());
+                }
+            }
+            return null;
+        }
+        return routingMetadata ? firstTag(payload.sliceMetadata()) : null;
+    }
+
+    public <T> Mono<T> decode(Payload payload, ResolvableType type) {
+        try {
+            return Mono.justOrEmpty(decodeData(payload, type));
+        } catch (Throwable exception) {
+            return Mono.error(exception);
+        } finally {
+            payload.release();
+        }
+    }
+
+    public <T> Flux<T> decodeAll(Flux<Payload> payloads, ResolvableType type) {
+        return payloads.handle((payload, sink) -> {
+            try {
+                T value = decodeData(payload, type);
+                if (value != null) {
+                    sink.next(value);
+                }
+            } catch (Throwable exception) {
+                sink.error(exception);
+            } finally {
+                payload.release();
+            }
+        });
+    }
+
+    // Composite metadata entry of the given mime type, null when absent
+    @SuppressWarnings("unchecked")
+    public <T> T decodeMetadata(Payload payload, MimeType mimeType, ResolvableType type) {
+        if (!compositeMetadata || !payload.hasMetadata()) {
+            return null;
+        }
+
+        for (CompositeMetadata.Entry entry : new CompositeMetadata(payload.sliceMetadata(), false)) {
+            if (mimeType.toString().equals(entry.getMimeType())) {
+                Decoder<?> decoder = strategies.decoder(type, mimeType);
+                return (T) decoder.decode(bufferFactory.wrap(entry.getContent().retain()), type, mimeType, null);
+            }
+        }
+        return null;
+    }
+
+    public <T> Mono<Payload> encode(Mono<T> values, ResolvableType type) {
+        return values.map(value -> encodeData(value, type));
+    }
+
+    public <T> Flux<Payload> encodeAll(Flux<T> values, ResolvableType type) {
+        return values.map(value -> encodeData(value, type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T decodeData(Payload payload, ResolvableType type) {
+        Decoder<?> decoder = decoders.computeIfAbsent(type, key -> strategies.decoder(key, dataMimeType));
+        // The decoder releases the wrapped buffer, the payload is released by the caller
+        DataBuffer buffer = bufferFactory.wrap(payload.sliceData().retain());
+        return (T) decoder.decode(buffer, type, dataMimeType, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Payload encodeData(Object value, ResolvableType type) {
+        Encoder<Object> encoder = (Encoder<Object>) encoders.computeIfAbsent(type, key -> strategies.encoder(key, dataMimeType));
+        DataBuffer buffer = encoder.encodeValue(value, bufferFactory, type, dataMimeType, null);
+        return ByteBufPayload.create(NettyDataBufferFactory.toByteBuf(buffer));
+    }
+
+    private static String firstTag(ByteBuf content) {
+        Iterator<String> tags = new RoutingMetadata(content).iterator();
+        return tags.hasNext() ? tags.next() : null;
+    }
+}
@@ -0,0 +1,63 @@
+package il.fadesml.rsocket.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent stub calls in a fixed size ring buffer. Recording is
+ * one {@code getAndIncrement} and one ordered store, so callers never block
+ * each other and old calls are overwritten instead of growing the heap.
+ */
+public class RSocketCallRecorder {
+    private final AtomicReferenceArray<RSocketStubCall> calls;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RSocketCallRecorder(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        // Next power of two, so the slot is a mask instead of a modulo
+        int size = Integer.highestOneBit(((capacity - 1) << 1) | 1);
+        this.calls = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void record(RSocketStubCall call) {
+        long index = sequence.getAndIncrement();
+        calls.lazySet((int) (index & mask), call);
+    }
+
+    public long getRecordedCount() {
+        return sequence.get();
+    }
+
+    public int getCapacity() {
+        return calls.length();
+    }
+
+    // Oldest first, calls recorded while copying may already replace the oldest entries
+    public List<RSocketStubCall> getRecordedCalls() {
+        long end = sequence.get();
+        long start = Math.max(0, end - calls.length());
+
+        List<RSocketStubCall> recorded = new ArrayList<>((int) (end - start));
+        for (long index = start; index < end; index++) {
+            RSocketStubCall call = calls.get((int) (index & mask));
+            if (call != null) {
+                recorded.add(call);
+            }
+        }
+        return recorded;
+    }
+
+    // Not atomic with concurrent recording, meant to run between test cases
+    public void clear() {
+        for (int i = 0; i < calls.length(); i++) {
+            calls.set(i, null);
+        }
+        sequence.set(0);
+    }
+}
@@ -0,0 +1,58 @@
+package il.fadesml.rsocket.stub;
+
+import io.rsocket.SocketAcceptor;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.local.LocalClientTransport;
+import io.rsocket.transport.local.LocalServerTransport;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import reactor.core.Disposable;
+
+import java.util.UUID;
+
+/**
+ * Serves a responder, typically a generated {@code <Interface>ServerAdapter}
+ * around a generated stub, on RSocket's in-JVM local transport. Requesters
+ * created here go through the full frame encoding and codecs but never touch
+ * the network.
+ * <p>
+ * The local transport is an optional dependency, projects using the harness
+ * need {@code io.rsocket:rsocket-transport-local} on their own classpath.
+ */
+public class RSocketLocalHarness implements AutoCloseable {
+    private final String name;
+    private final Disposable server;
+    private final RSocketStrategies strategies;
+
+    private RSocketLocalHarness(String name, Disposable server, RSocketStrategies strategies) {
+        this.name = name;
+        this.server = server;
+        this.strategies = strategies;
+    }
+
+    public static RSocketLocalHarness start(SocketAcceptor acceptor, RSocketStrategies strategies) {
+        String name = "rsocket-local-harness-" + UUID.randomUUID();
+        Disposable server = RSocketServer.create(acceptor)
+                .bind(LocalServerTransport.create(name))
+                .block();
+        return new RSocketLocalHarness(name, server, strategies);
+    }
+
+    public RSocketRequester.Builder requesterBuilder() {
+        return RSocketRequester.builder().rsocketStrategies(strategies);
+    }
+
+    // Each requester is its own local connection
+    public RSocketRequester createRequester() {
+        return requesterBuilder().transport(LocalClientTransport.create(name));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void close() {
+        server.dispose();
+    }
+}
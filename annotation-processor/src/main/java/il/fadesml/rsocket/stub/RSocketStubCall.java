@@ -0,0 +1,9 @@
+package il.fadesml.rsocket.stub;
+
+/**
+ * One recorded call of a generated stub. {@code arguments} holds the
+ * destination variables and metadata in declaration order, {@code data} the
+ * resolved request value, the input {@code Flux} of a channel, or {@code null}.
+ */
+public record RSocketStubCall(String method, String route, Object[] arguments, Object data, long timestampNanos) {
+}
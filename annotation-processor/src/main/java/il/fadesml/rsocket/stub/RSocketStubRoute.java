@@ -0,0 +1,111 @@
+package il.fadesml.rsocket.stub;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Programmable behaviour of one route of a generated stub. The responder maps a
+ * {@link RSocketStubCall} to the elements sent back, latency delays the
+ * subscription to them. Settings are volatile and may change while the stub is
+ * under load. Without a responder a route completes empty.
+ */
+public class RSocketStubRoute {
+    public static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private static final Latency NO_LATENCY = new Latency(0, 0);
+
+    private final String method;
+    private final String route;
+    private final RSocketCallRecorder recorder;
+    private final LongAdder invocations = new LongAdder();
+
+    private volatile Function<RSocketStubCall, ? extends Publisher<?>> responder = call -> Mono.empty();
+    // Published as one pair, separate fields could be read as min > max by a concurrent call
+    private volatile Latency latency = NO_LATENCY;
+
+    public RSocketStubRoute(String method, String route, RSocketCallRecorder recorder) {
+        this.method = method;
+        this.route = route;
+        this.recorder = recorder;
+    }
+
+    public RSocketStubRoute respond(Function<RSocketStubCall, ? extends Publisher<?>> responder) {
+        this.responder = responder;
+        return this;
+    }
+
+    public RSocketStubRoute respondWith(Object... values) {
+        return respond(call -> Flux.fromArray(values));
+    }
+
+    public RSocketStubRoute failWith(Throwable error) {
+        return respond(call -> Mono.error(error));
+    }
+
+    public RSocketStubRoute latency(Duration latency) {
+        return latency(latency, latency);
+    }
+
+    // Uniformly distributed between min and max for every call
+    public RSocketStubRoute latency(Duration min, Duration max) {
+        if (min.isNegative() || max.compareTo(min) < 0) {
+            throw new IllegalArgumentException("latency must not be negative and min must not be larger than max");
+        }
+        this.latency = new Latency(min.toNanos(), max.toNanos());
+        return this;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public long getInvocationCount() {
+        return invocations.sum();
+    }
+
+    public <R> Mono<R> mono(Object[] arguments, Mono<?> data) {
+        if (data == null) {
+            return Mono.defer(() -> this.<R>invoke(arguments, null).next());
+        }
+        return data.singleOptional().flatMap(value -> this.<R>invoke(arguments, value.orElse(null)).next());
+    }
+
+    public <R> Flux<R> flux(Object[] arguments, Mono<?> data) {
+        return data.singleOptional().flatMapMany(value -> invoke(arguments, value.orElse(null)));
+    }
+
+    public <R> Flux<R> channel(Object[] arguments, Flux<?> data) {
+        return Flux.defer(() -> invoke(arguments, data));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> Flux<R> invoke(Object[] arguments, Object data) {
+        RSocketStubCall call = new RSocketStubCall(method, route, arguments, data, System.nanoTime());
+        recorder.record(call);
+        invocations.increment();
+
+        Flux<R> response = Flux.from((Publisher<R>) responder.apply(call));
+        Latency current = latency;
+        if (current.maxNanos() == 0) {
+            return response;
+        }
+        return response.delaySubscription(Duration.ofNanos(current.next()));
+    }
+
+    private record Latency(long minNanos, long maxNanos) {
+
+        private long next() {
+            return minNanos == maxNanos ? minNanos : ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+        }
+    }
+}
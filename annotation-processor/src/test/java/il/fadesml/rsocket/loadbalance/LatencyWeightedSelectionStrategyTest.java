@@ -0,0 +1,125 @@
+package il.fadesml.rsocket.loadbalance;
+
+import io.rsocket.Payload;
+import io.rsocket.RSocket;
+import io.rsocket.util.DefaultPayload;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyWeightedSelectionStrategyTest {
+    private final LatencyWeightedSelectionStrategy strategy = new LatencyWeightedSelectionStrategy();
+
+    @Test
+    void singleCandidateIsAlwaysSelected() {
+        PooledRSocketRequester only = new PooledRSocketRequester(null, null);
+
+        assertThat(strategy.select(List.of(only))).isSameAs(only);
+    }
+
+    @Test
+    void prefersLowerLatency() {
+        PooledRSocketRequester fast = new PooledRSocketRequester(null, null);
+        PooledRSocketRequester slow = new PooledRSocketRequester(null, null);
+        fast.recordSuccess(Duration.ofMillis(1).toNanos());
+        slow.recordSuccess(Duration.ofMillis(10).toNanos());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(strategy.select(List.of(fast, slow))).isSameAs(fast);
+        }
+    }
+
+    @Test
+    void prefersSlowerHealthyNodeOverFastFailingNode() {
+        PooledRSocketRequester failing = new PooledRSocketRequester(null, null);
+        PooledRSocketRequester healthy = new PooledRSocketRequester(null, null);
+        failing.recordFailure(Duration.ofMillis(1).toNanos());
+        healthy.recordSuccess(Duration.ofMillis(50).toNanos());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(strategy.select(List.of(failing, healthy))).isSameAs(healthy);
+        }
+    }
+
+    @Test
+    void outstandingRequestsWeighTheLatency() {
+        PooledRSocketRequester busy = new PooledRSocketRequester(null, null);
+        PooledRSocketRequester idle = new PooledRSocketRequester(null, null);
+        busy.recordSuccess(Duration.ofMillis(1).toNanos());
+        idle.recordSuccess(Duration.ofMillis(10).toNanos());
+
+        List<Disposable> requests = holdOutstanding(busy, 20);
+
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertThat(strategy.select(List.of(busy, idle))).isSameAs(idle);
+            }
+        } finally {
+            requests.forEach(Disposable::dispose);
+        }
+    }
+
+    @Test
+    void idleUnmeasuredCandidateIsTriedFirst() {
+        PooledRSocketRequester measured = new PooledRSocketRequester(null, null);
+        PooledRSocketRequester fresh = new PooledRSocketRequester(null, null);
+        measured.recordSuccess(Duration.ofMillis(1).toNanos());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(strategy.select(List.of(measured, fresh))).isSameAs(fresh);
+        }
+    }
+
+    @Test
+    void unmeasuredCandidateWithOutstandingRequestsLosesToIdleMeasuredOne() {
+        PooledRSocketRequester silent = new PooledRSocketRequester(null, null);
+        PooledRSocketRequester measured = new PooledRSocketRequester(null, null);
+        measured.recordSuccess(Duration.ofMillis(10).toNanos());
+
+        List<Disposable> requests = holdOutstanding(silent, 5);
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertThat(strategy.select(List.of(silent, measured))).isSameAs(measured);
+            }
+        } finally {
+            requests.forEach(Disposable::dispose);
+        }
+    }
+
+    @Test
+    void unmeasuredCandidatesCompareByOutstandingRequests() {
+        PooledRSocketRequester busy = new PooledRSocketRequester(null, null);
+        PooledRSocketRequester idle = new PooledRSocketRequester(null, null);
+
+        List<Disposable> requests = holdOutstanding(busy, 1);
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertThat(strategy.select(List.of(busy, idle))).isSameAs(idle);
+            }
+        } finally {
+            requests.forEach(Disposable::dispose);
+        }
+    }
+
+    // Requests that never answer, as sent to a node that accepts work and goes silent
+    private static List<Disposable> holdOutstanding(PooledRSocketRequester requester, int count) {
+        RSocket pending = requester.instrument(new RSocket() {
+            @Override
+            public Mono<Payload> requestResponse(Payload payload) {
+                payload.release();
+                return Mono.never();
+            }
+        });
+        List<Disposable> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(pending.requestResponse(DefaultPayload.create("data")).subscribe());
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,91 @@
+package il.fadesml.rsocket.loadbalance;
+
+import io.rsocket.Payload;
+import io.rsocket.RSocket;
+import io.rsocket.util.DefaultPayload;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledRSocketRequesterTest {
+
+    @Test
+    void recordsLatencyOfSuccessfulResponse() {
+        PooledRSocketRequester requester = new PooledRSocketRequester(null, null);
+        RSocket socket = requester.instrument(respondingWith(Mono.delay(Duration.ofMillis(20)).map(tick -> payload())));
+
+        StepVerifier.create(socket.requestResponse(payload())).expectNextCount(1).verifyComplete();
+
+        assertThat(requester.getAverageLatencyNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+        assertThat(requester.getOutstandingRequests()).isZero();
+    }
+
+    @Test
+    void fastFailureIsPenalizedInsteadOfRecordedAsLatency() {
+        PooledRSocketRequester requester = new PooledRSocketRequester(null, null);
+        RSocket socket = requester.instrument(respondingWith(Mono.error(new IllegalStateException("rejected"))));
+
+        StepVerifier.create(socket.requestResponse(payload())).verifyError(IllegalStateException.class);
+
+        assertThat(requester.getAverageLatencyNanos()).isGreaterThanOrEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(requester.getOutstandingRequests()).isZero();
+    }
+
+    @Test
+    void failurePenaltyGrowsWithAverageLatency() {
+        PooledRSocketRequester requester = new PooledRSocketRequester(null, null);
+        requester.recordSuccess(Duration.ofSeconds(2).toNanos());
+
+        requester.recordFailure(Duration.ofMillis(1).toNanos());
+
+        assertThat(requester.getAverageLatencyNanos()).isGreaterThan(Duration.ofSeconds(2).toNanos());
+    }
+
+    @Test
+    void streamRecordsOnlyTheFirstElement() {
+        PooledRSocketRequester requester = new PooledRSocketRequester(null, null);
+        RSocket socket = requester.instrument(new RSocket() {
+            @Override
+            public Flux<Payload> requestStream(Payload payload) {
+                return Flux.concat(Mono.just(payload()), Mono.delay(Duration.ofMillis(200)).map(tick -> payload()));
+            }
+        });
+
+        StepVerifier.create(socket.requestStream(payload())).expectNextCount(2).verifyComplete();
+
+        assertThat(requester.getAverageLatencyNanos()).isPositive().isLessThan(Duration.ofMillis(200).toNanos());
+    }
+
+    @Test
+    void cancelledRequestRecordsNothing() {
+        PooledRSocketRequester requester = new PooledRSocketRequester(null, null);
+        RSocket socket = requester.instrument(respondingWith(Mono.never()));
+
+        Disposable request = socket.requestResponse(payload()).subscribe();
+        assertThat(requester.getOutstandingRequests()).isOne();
+        request.dispose();
+
+        assertThat(requester.getOutstandingRequests()).isZero();
+        assertThat(requester.getAverageLatencyNanos()).isZero();
+    }
+
+    private static RSocket respondingWith(Mono<Payload> response) {
+        return new RSocket() {
+            @Override
+            public Mono<Payload> requestResponse(Payload payload) {
+                payload.release();
+                return response;
+            }
+        };
+    }
+
+    private static Payload payload() {
+        return DefaultPayload.create("data");
+    }
+}
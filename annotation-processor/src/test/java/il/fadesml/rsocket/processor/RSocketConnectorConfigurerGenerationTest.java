@@ -0,0 +1,104 @@
+package il.fadesml.rsocket.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+class RSocketConnectorConfigurerGenerationTest {
+    private static final JavaFileObject PROVIDER = JavaFileObjects.forSourceString("sample.SampleProvider", """
+            package sample;
+
+            import il.fadesml.rsocket.annotation.RSocketRequesterProvider;
+            import org.springframework.messaging.rsocket.RSocketRequester;
+
+            public class SampleProvider implements RSocketRequesterProvider {
+                @Override
+                public RSocketRequester getRSocketRequester() {
+                    return null;
+                }
+            }
+            """);
+
+    @Test
+    void generatesResumeAndLeaseConfigurer() {
+        Compilation compilation = compile("""
+                @RSocketResume(sessionDurationMillis = 60000, storeSizeBytes = 4096, reconnectMaxBackoffMillis = 2000)
+                @RSocketLease(maxPendingRequests = 16)
+                """);
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .contains("public static final RSocketConnectorConfigurer RSOCKET_CONNECTOR_CONFIGURER");
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .contains(".sessionDuration(Duration.ofMillis(60000L))");
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .contains(".streamTimeout(Duration.ofMillis(10000L))");
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .contains(".storeFactory(token -> new InMemoryResumableFramesStore(\"client\", token, 4096))");
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .contains(".retry(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100L)).maxBackoff(Duration.ofMillis(2000L)))");
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .contains(".lease(spec -> spec.maxPendingRequests(16))");
+    }
+
+    @Test
+    void leaseWithoutQueueFailsFast() {
+        Compilation compilation = compile("@RSocketLease\n");
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .contains(".lease()");
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .doesNotContain(".resume(");
+    }
+
+    @Test
+    void noConfigurerWithoutSessionAnnotations() {
+        Compilation compilation = compile("");
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("sample.SessionApiClient").contentsAsUtf8String()
+                .doesNotContain("RSOCKET_CONNECTOR_CONFIGURER");
+    }
+
+    @Test
+    void rejectsInvertedReconnectBackoff() {
+        Compilation compilation = compile("@RSocketResume(reconnectMinBackoffMillis = 500, reconnectMaxBackoffMillis = 100)\n");
+
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining("reconnectMinBackoffMillis must not be negative and not larger than reconnectMaxBackoffMillis");
+    }
+
+    @Test
+    void rejectsNegativeLeaseQueue() {
+        Compilation compilation = compile("@RSocketLease(maxPendingRequests = -1)\n");
+
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining("@RSocketLease maxPendingRequests must not be negative");
+    }
+
+    private static Compilation compile(String sessionAnnotations) {
+        JavaFileObject api = JavaFileObjects.forSourceString("sample.SessionApi", """
+                package sample;
+
+                import il.fadesml.rsocket.annotation.RSocketApi;
+                import il.fadesml.rsocket.annotation.RSocketLease;
+                import il.fadesml.rsocket.annotation.RSocketResume;
+                import org.springframework.messaging.handler.annotation.MessageMapping;
+                import reactor.core.publisher.Mono;
+
+                """ + sessionAnnotations + """
+                @RSocketApi(provider = SampleProvider.class, generateAsComponent = false)
+                public interface SessionApi {
+                    @MessageMapping("echo")
+                    Mono<String> echo(Mono<String> data);
+                }
+                """);
+        return javac().withProcessors(new RSocketApiAnnotationProcessor()).compile(PROVIDER, api);
+    }
+}
@@ -0,0 +1,206 @@
+package il.fadesml.rsocket.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import io.rsocket.DuplexConnection;
+import io.rsocket.SocketAcceptor;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.core.Resume;
+import io.rsocket.lease.Lease;
+import io.rsocket.lease.MissingLeaseException;
+import io.rsocket.plugins.DuplexConnectionInterceptor;
+import io.rsocket.transport.local.LocalClientTransport;
+import io.rsocket.transport.local.LocalServerTransport;
+import io.rsocket.util.DefaultPayload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.rsocket.RSocketConnectorConfigurer;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the generated RSOCKET_CONNECTOR_CONFIGURER against a real responder on the local transport
+class RSocketConnectorConfigurerRuntimeTest {
+    private static final JavaFileObject PROVIDER = JavaFileObjects.forSourceString("sample.SampleProvider", """
+            package sample;
+
+            import il.fadesml.rsocket.annotation.RSocketRequesterProvider;
+            import org.springframework.messaging.rsocket.RSocketRequester;
+
+            public class SampleProvider implements RSocketRequesterProvider {
+                @Override
+                public RSocketRequester getRSocketRequester() {
+                    return null;
+                }
+            }
+            """);
+
+    private final String name = "rsocket-configurer-test-" + UUID.randomUUID();
+    private final List<Disposable> resources = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        resources.forEach(Disposable::dispose);
+    }
+
+    @Test
+    void streamResumesAfterConnectionDropWithoutResubscribing() throws Exception {
+        AtomicInteger subscriptions = new AtomicInteger();
+        resources.add(RSocketServer.create(SocketAcceptor.forRequestStream(payload -> {
+                    payload.release();
+                    subscriptions.incrementAndGet();
+                    return Flux.interval(Duration.ofMillis(50))
+                            .take(10)
+                            .map(index -> DefaultPayload.create(String.valueOf(index)));
+                }))
+                .resume(new Resume().sessionDuration(Duration.ofMinutes(1)))
+                .bind(LocalServerTransport.create(name))
+                .block());
+
+        // The transport connections under the resumable session, the latest one is dropped
+        AtomicReference<DuplexConnection> connection = new AtomicReference<>();
+        RSocketRequester requester = RSocketRequester.builder()
+                .rsocketConnector(loadConfigurer("@RSocketResume(reconnectMinBackoffMillis = 50, reconnectMaxBackoffMillis = 200)\n"))
+                .rsocketConnector(connector -> connector.interceptors(registry -> registry.forConnection((type, source) -> {
+                    if (type == DuplexConnectionInterceptor.Type.SOURCE) {
+                        connection.set(source);
+                    }
+                    return source;
+                })))
+                .transport(LocalClientTransport.create(name));
+        resources.add(requester);
+
+        StepVerifier.create(requester.route("numbers").retrieveFlux(String.class))
+                .expectNext("0", "1", "2")
+                .then(() -> connection.get().dispose())
+                .expectNext("3", "4", "5", "6", "7", "8", "9")
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+        assertThat(subscriptions).hasValue(1);
+    }
+
+    @Test
+    void requestsQueueUntilTheServerIssuesALease() throws Exception {
+        Sinks.Many<Lease> leases = Sinks.many().replay().all();
+        RSocketRequester requester = startLeasedServer(leases, "@RSocketLease(maxPendingRequests = 16)\n");
+
+        StepVerifier.create(requester.route("ping").data("ping").retrieveMono(String.class))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(300))
+                .then(() -> leases.tryEmitNext(Lease.create(Duration.ofSeconds(30), 10)))
+                .expectNext("pong")
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void requestsFailWithoutLeaseWhenNothingMayQueue() throws Exception {
+        Sinks.Many<Lease> leases = Sinks.many().replay().all();
+        RSocketRequester requester = startLeasedServer(leases, "@RSocketLease\n");
+
+        StepVerifier.create(requester.route("ping").data("ping").retrieveMono(String.class))
+                .expectError(MissingLeaseException.class)
+                .verify(Duration.ofSeconds(10));
+
+        leases.tryEmitNext(Lease.create(Duration.ofSeconds(30), 10));
+
+        StepVerifier.create(requester.route("ping").data("ping").retrieveMono(String.class)
+                        .retryWhen(Retry.fixedDelay(20, Duration.ofMillis(50))
+                                .filter(MissingLeaseException.class::isInstance)))
+                .expectNext("pong")
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    private RSocketRequester startLeasedServer(Sinks.Many<Lease> leases, String sessionAnnotations) throws Exception {
+        resources.add(RSocketServer.create(SocketAcceptor.forRequestResponse(payload -> {
+                    payload.release();
+                    return Mono.just(DefaultPayload.create("pong"));
+                }))
+                .lease(spec -> spec.sender(leases::asFlux))
+                .bind(LocalServerTransport.create(name))
+                .block());
+
+        RSocketRequester requester = RSocketRequester.builder()
+                .rsocketConnector(loadConfigurer(sessionAnnotations))
+                .transport(LocalClientTransport.create(name));
+        resources.add(requester);
+        return requester;
+    }
+
+    private static RSocketConnectorConfigurer loadConfigurer(String sessionAnnotations) throws Exception {
+        JavaFileObject api = JavaFileObjects.forSourceString("sample.SessionApi", """
+                package sample;
+
+                import il.fadesml.rsocket.annotation.RSocketApi;
+                import il.fadesml.rsocket.annotation.RSocketLease;
+                import il.fadesml.rsocket.annotation.RSocketResume;
+                import org.springframework.messaging.handler.annotation.MessageMapping;
+                import reactor.core.publisher.Mono;
+
+                """ + sessionAnnotations + """
+                @RSocketApi(provider = SampleProvider.class, generateAsComponent = false)
+                public interface SessionApi {
+                    @MessageMapping("echo")
+                    Mono<String> echo(Mono<String> data);
+                }
+                """);
+        Compilation compilation = javac().withProcessors(new RSocketApiAnnotationProcessor()).compile(PROVIDER, api);
+        assertThat(compilation).succeeded();
+
+        Class<?> client = new CompiledClassLoader(compilation).loadClass("sample.SessionApiClient");
+        return (RSocketConnectorConfigurer) client.getField("RSOCKET_CONNECTOR_CONFIGURER").get(null);
+    }
+
+    // Defines the classes of one in-memory compilation, everything else comes from the test classpath
+    private static final class CompiledClassLoader extends ClassLoader {
+        private static final String CLASS_OUTPUT = "CLASS_OUTPUT/";
+
+        private final Map<String, byte[]> classes = new HashMap<>();
+
+        private CompiledClassLoader(Compilation compilation) throws IOException {
+            super(RSocketConnectorConfigurerRuntimeTest.class.getClassLoader());
+            for (JavaFileObject file : compilation.generatedFiles()) {
+                if (file.getKind() != JavaFileObject.Kind.CLASS) {
+                    continue;
+                }
+                String path = file.toUri().getPath();
+                String className = path.substring(path.indexOf(CLASS_OUTPUT) + CLASS_OUTPUT.length(), path.length() - ".class".length())
+                        .replace('/', '.');
+                try (InputStream in = file.openInputStream()) {
+                    classes.put(className, in.readAllBytes());
+                }
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package il.fadesml.rsocket.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+class RSocketRouteGenerationTest {
+    private static final JavaFileObject PROVIDER = JavaFileObjects.forSourceString("sample.SampleProvider", """
+            package sample;
+
+            import il.fadesml.rsocket.annotation.RSocketRequesterProvider;
+            import org.springframework.messaging.rsocket.RSocketRequester;
+
+            public class SampleProvider implements RSocketRequesterProvider {
+                @Override
+                public RSocketRequester getRSocketRequester() {
+                    return null;
+                }
+            }
+            """);
+
+    private static final JavaFileObject API = JavaFileObjects.forSourceString("sample.OrderApi", """
+            package sample;
+
+            import il.fadesml.rsocket.annotation.RSocketApi;
+            import org.springframework.messaging.handler.annotation.DestinationVariable;
+            import org.springframework.messaging.handler.annotation.MessageMapping;
+            import reactor.core.publisher.Flux;
+            import reactor.core.publisher.Mono;
+
+            @RSocketApi(provider = SampleProvider.class, generateAsComponent = false)
+            public interface OrderApi {
+                @MessageMapping("orders.{id}")
+                Mono<String> order(@DestinationVariable("id") String id, Mono<String> data);
+
+                @MessageMapping("orders.stream")
+                Flux<String> orders(Mono<String> data);
+
+                @MessageMapping("orders.cancel")
+                Mono<Void> cancel(Mono<String> data);
+            }
+            """);
+
+    @Test
+    void routeVariablesAreExpandedThroughImportedHelper() {
+        Compilation compilation = compile();
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("sample.OrderApiClient").contentsAsUtf8String()
+                .contains("import il.fadesml.rsocket.requester.RSocketRouteVariables;");
+        assertThat(compilation).generatedSourceFile("sample.OrderApiClient").contentsAsUtf8String()
+                .contains(".route(\"orders.\" + RSocketRouteVariables.expand(id))");
+        assertThat(compilation).generatedSourceFile("sample.OrderApiClient").contentsAsUtf8String()
+                .doesNotContain("il.fadesml.rsocket.requester.RSocketRouteVariables.expand");
+    }
+
+    @Test
+    void constantRoutesAreReferencedByName() {
+        Compilation compilation = compile();
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("sample.OrderApiClient").contentsAsUtf8String()
+                .contains(".route(ORDERS_ROUTE)");
+        assertThat(compilation).generatedSourceFile("sample.OrderApiClient").contentsAsUtf8String()
+                .contains(".route(CANCEL_ROUTE)");
+    }
+
+    private static Compilation compile() {
+        return javac().withProcessors(new RSocketApiAnnotationProcessor()).compile(PROVIDER, API);
+    }
+}
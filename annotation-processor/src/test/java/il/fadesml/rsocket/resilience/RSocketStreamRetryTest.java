@@ -0,0 +1,56 @@
+package il.fadesml.rsocket.resilience;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RSocketStreamRetryTest {
+    private static final RetryBackoffSpec RETRY = Retry.backoff(3, Duration.ofMillis(1));
+
+    @Test
+    void retriesStreamThatFailedBeforeItsFirstElement() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<String> source = Flux.defer(() -> subscriptions.incrementAndGet() < 3
+                ? Flux.error(new IllegalStateException("connection lost"))
+                : Flux.just("a", "b"));
+
+        StepVerifier.create(RSocketStreamRetry.beforeFirstElement(source, RETRY))
+                .expectNext("a", "b")
+                .verifyComplete();
+        assertThat(subscriptions).hasValue(3);
+    }
+
+    @Test
+    void errorAfterFirstElementIsNotRetried() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<String> source = Flux.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Flux.concat(Flux.just("a"), Flux.error(new IllegalStateException("connection lost")));
+        });
+
+        StepVerifier.create(RSocketStreamRetry.beforeFirstElement(source, RETRY))
+                .expectNext("a")
+                .verifyErrorMessage("connection lost");
+        assertThat(subscriptions).hasValue(1);
+    }
+
+    @Test
+    void eachSubscriptionGetsItsOwnRetries() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<String> source = Flux.defer(() -> subscriptions.incrementAndGet() % 2 == 1
+                ? Flux.error(new IllegalStateException("connection lost"))
+                : Flux.just("a"));
+        Flux<String> retried = RSocketStreamRetry.beforeFirstElement(source, RETRY);
+
+        StepVerifier.create(retried).expectNext("a").verifyComplete();
+        StepVerifier.create(retried).expectNext("a").verifyComplete();
+        assertThat(subscriptions).hasValue(4);
+    }
+}
@@ -0,0 +1,114 @@
+#!/usr/bin/env bash
+# Generates a synthetic project with many @RSocketApi interfaces for gradle-profiler, see processor.scenarios
+#   ./generate-synthetic-project.sh [target-dir] [interface-count]
+#   gradle-profiler --benchmark --project-dir <target-dir> --scenario-file processor.scenarios
+set -euo pipefail
+
+TARGET_DIR="${1:-build/synthetic-project}"
+INTERFACE_COUNT="${2:-500}"
+REPOSITORY_ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+
+rm -rf "$TARGET_DIR"
+mkdir -p "$TARGET_DIR"
+
+cat > "$TARGET_DIR/settings.gradle" <<GRADLE
+rootProject.name = 'rsocket-synthetic-project'
+
+includeBuild('$REPOSITORY_ROOT') {
+    dependencySubstitution {
+        substitute module('il.fadesml:annotation-processor') using project(':annotation-processor')
+    }
+}
+
+dependencyResolutionManagement {
+    repositories {
+        mavenCentral()
+    }
+}
+GRADLE
+
+cat > "$TARGET_DIR/build.gradle" <<GRADLE
+plugins {
+    id 'java'
+    id 'io.spring.dependency-management' version '1.1.4'
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+dependencyManagement {
+    imports {
+        mavenBom 'org.springframework.boot:spring-boot-dependencies:3.2.2'
+    }
+}
+
+dependencies {
+    implementation 'il.fadesml:annotation-processor'
+    annotationProcessor 'il.fadesml:annotation-processor'
+    implementation 'org.springframework.boot:spring-boot-starter-rsocket'
+}
+GRADLE
+
+for ((i = 0; i < INTERFACE_COUNT; i++)); do
+    PACKAGE_DIR="$TARGET_DIR/src/main/java/synthetic/api$i"
+    mkdir -p "$PACKAGE_DIR"
+
+    cat > "$PACKAGE_DIR/Dto$i.java" <<JAVA
+package synthetic.api$i;
+
+public class Dto$i {
+    private String message;
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
+JAVA
+
+    cat > "$PACKAGE_DIR/Provider$i.java" <<JAVA
+package synthetic.api$i;
+
+import il.fadesml.rsocket.annotation.RSocketRequesterProvider;
+
+public interface Provider$i extends RSocketRequesterProvider {
+}
+JAVA
+
+    cat > "$PACKAGE_DIR/Api$i.java" <<JAVA
+package synthetic.api$i;
+
+import il.fadesml.rsocket.annotation.RSocketApi;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RSocketApi(provider = Provider$i.class, generateAsComponent = false)
+public interface Api$i {
+
+    @MessageMapping("api$i.request-response")
+    Mono<Dto$i> requestResponse(Mono<Dto$i> data);
+
+    @MessageMapping("api$i.request-response.{id}")
+    Mono<Dto$i> requestResponseWithDestinationVariable(@DestinationVariable String id, Mono<Dto$i> data);
+
+    @MessageMapping("api$i.fire-and-forget")
+    Mono<Void> fireAndForget(Mono<Dto$i> data);
+
+    @MessageMapping("api$i.request-stream")
+    Flux<Dto$i> requestStream(Mono<Dto$i> data);
+
+    @MessageMapping("api$i.request-channel")
+    Flux<Dto$i> requestChannel(Flux<Dto$i> data);
+}
+JAVA
+done
+
+echo "Generated $INTERFACE_COUNT interfaces in $TARGET_DIR"
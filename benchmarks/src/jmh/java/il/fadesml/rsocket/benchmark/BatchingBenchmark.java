@@ -0,0 +1,51 @@
+package il.fadesml.rsocket.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+// Concurrent request-response calls with and without @RSocketBatch, scores are per call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(BatchingBenchmark.CONCURRENT_CALLS)
+public class BatchingBenchmark {
+    public static final int CONCURRENT_CALLS = 256;
+
+    @Param({"local", "tcp"})
+    public String transport;
+
+    private RSocketBenchmarkEnvironment environment;
+    private BenchmarkRSocketApi client;
+    private Mono<BenchmarkDto> data;
+
+    @Setup
+    public void setUp() {
+        environment = new RSocketBenchmarkEnvironment(transport);
+        RSocketRequester requester = environment.createRequester(RSocketBenchmarkEnvironment.CBOR_MIME_TYPE);
+        client = new BenchmarkRSocketApiClient(() -> requester);
+        data = Mono.just(new BenchmarkDto("x".repeat(64), 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.dispose();
+    }
+
+    @Benchmark
+    public BenchmarkDto unbatched() {
+        return Flux.range(0, CONCURRENT_CALLS)
+                .flatMap(index -> client.requestResponse(data), CONCURRENT_CALLS)
+                .blockLast();
+    }
+
+    @Benchmark
+    public BenchmarkDto batched() {
+        return Flux.range(0, CONCURRENT_CALLS)
+                .flatMap(index -> client.batchedRequestResponse(data), CONCURRENT_CALLS)
+                .blockLast();
+    }
+}
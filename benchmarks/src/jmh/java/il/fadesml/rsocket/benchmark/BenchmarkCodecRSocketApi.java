@@ -0,0 +1,25 @@
+package il.fadesml.rsocket.benchmark;
+
+import il.fadesml.rsocket.annotation.RSocketApi;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Same routes as BenchmarkRSocketApi, with generated binary codecs instead of Jackson CBOR
+@RSocketApi(
+        provider = BenchmarkRSocketRequesterProvider.class,
+        generateAsComponent = false,
+        generateCodecs = true
+)
+public interface BenchmarkCodecRSocketApi {
+
+    @MessageMapping(BenchmarkController.REQUEST_RESPONSE_ROUTE)
+    Mono<BenchmarkDto> requestResponse(
+            Mono<BenchmarkDto> data
+    );
+
+    @MessageMapping(BenchmarkController.REQUEST_STREAM_ROUTE)
+    Flux<BenchmarkDto> requestStream(
+            Mono<BenchmarkDto> data
+    );
+}
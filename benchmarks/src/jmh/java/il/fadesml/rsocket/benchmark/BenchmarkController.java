@@ -0,0 +1,56 @@
+package il.fadesml.rsocket.benchmark;
+
+import il.fadesml.rsocket.batch.RSocketBatchItemResult;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Echo responder, the benchmarks measure the client and the transport rather than server work
+public class BenchmarkController {
+    public static final String REQUEST_RESPONSE_ROUTE = "benchmark.request-response";
+    public static final String REQUEST_RESPONSE_WITH_ID_ROUTE = "benchmark.request-response.{id}";
+    public static final String REQUEST_RESPONSE_BATCH_ROUTE = "benchmark.request-response-batch";
+    public static final String FIRE_AND_FORGET_ROUTE = "benchmark.fire-and-forget";
+    public static final String REQUEST_STREAM_ROUTE = "benchmark.request-stream";
+    public static final String REQUEST_CHANNEL_ROUTE = "benchmark.request-channel";
+
+    public static final int STREAM_SIZE = 16;
+
+    @MessageMapping(REQUEST_RESPONSE_ROUTE)
+    public Mono<BenchmarkDto> requestResponse(BenchmarkDto data) {
+        return Mono.just(data);
+    }
+
+    @MessageMapping(REQUEST_RESPONSE_WITH_ID_ROUTE)
+    public Mono<BenchmarkDto> requestResponseWithDestinationVariable(@DestinationVariable String id, BenchmarkDto data) {
+        return Mono.just(data);
+    }
+
+    @MessageMapping(REQUEST_RESPONSE_BATCH_ROUTE)
+    public Mono<List<RSocketBatchItemResult<BenchmarkDto>>> requestResponseBatch(List<BenchmarkDto> items) {
+        List<RSocketBatchItemResult<BenchmarkDto>> results = new ArrayList<>(items.size());
+        for (BenchmarkDto item : items) {
+            results.add(RSocketBatchItemResult.success(item));
+        }
+        return Mono.just(results);
+    }
+
+    @MessageMapping(FIRE_AND_FORGET_ROUTE)
+    public Mono<Void> fireAndForget(BenchmarkDto data) {
+        return Mono.empty();
+    }
+
+    @MessageMapping(REQUEST_STREAM_ROUTE)
+    public Flux<BenchmarkDto> requestStream(BenchmarkDto data) {
+        return Flux.range(0, STREAM_SIZE).map(index -> data);
+    }
+
+    @MessageMapping(REQUEST_CHANNEL_ROUTE)
+    public Flux<BenchmarkDto> requestChannel(Flux<BenchmarkDto> data) {
+        return data;
+    }
+}
@@ -0,0 +1,31 @@
+package il.fadesml.rsocket.benchmark;
+
+// Plain accessors, the binary codec generator must not depend on Lombok running first
+public class BenchmarkDto {
+    private String message;
+    private long sequence;
+
+    public BenchmarkDto() {
+    }
+
+    public BenchmarkDto(String message, long sequence) {
+        this.message = message;
+        this.sequence = sequence;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
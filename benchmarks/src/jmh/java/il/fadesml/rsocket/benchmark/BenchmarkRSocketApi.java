@@ -0,0 +1,48 @@
+package il.fadesml.rsocket.benchmark;
+
+import il.fadesml.rsocket.annotation.RSocketApi;
+import il.fadesml.rsocket.annotation.RSocketBatch;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RSocketApi(
+        provider = BenchmarkRSocketRequesterProvider.class,
+        generateAsComponent = false,
+        generateBlockingClient = true
+)
+public interface BenchmarkRSocketApi {
+
+    @MessageMapping(BenchmarkController.REQUEST_RESPONSE_ROUTE)
+    Mono<BenchmarkDto> requestResponse(
+            Mono<BenchmarkDto> data
+    );
+
+    @MessageMapping(BenchmarkController.REQUEST_RESPONSE_WITH_ID_ROUTE)
+    Mono<BenchmarkDto> requestResponseWithDestinationVariable(
+            @DestinationVariable String id,
+            Mono<BenchmarkDto> data
+    );
+
+    @RSocketBatch(route = BenchmarkController.REQUEST_RESPONSE_BATCH_ROUTE, maxSize = 64, maxDelayMillis = 1)
+    @MessageMapping(BenchmarkController.REQUEST_RESPONSE_ROUTE)
+    Mono<BenchmarkDto> batchedRequestResponse(
+            Mono<BenchmarkDto> data
+    );
+
+    @MessageMapping(BenchmarkController.FIRE_AND_FORGET_ROUTE)
+    Mono<Void> fireAndForget(
+            Mono<BenchmarkDto> data
+    );
+
+    @MessageMapping(BenchmarkController.REQUEST_STREAM_ROUTE)
+    Flux<BenchmarkDto> requestStream(
+            Mono<BenchmarkDto> data
+    );
+
+    @MessageMapping(BenchmarkController.REQUEST_CHANNEL_ROUTE)
+    Flux<BenchmarkDto> requestChannel(
+            Flux<BenchmarkDto> data
+    );
+}
@@ -0,0 +1,8 @@
+package il.fadesml.rsocket.benchmark;
+
+import il.fadesml.rsocket.annotation.RSocketRequesterProvider;
+
+// An interface, so a benchmark can hand a fixed requester or a pooled provider to the same generated client
+@FunctionalInterface
+public interface BenchmarkRSocketRequesterProvider extends RSocketRequesterProvider {
+}
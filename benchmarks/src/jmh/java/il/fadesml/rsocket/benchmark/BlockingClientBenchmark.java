@@ -0,0 +1,65 @@
+package il.fadesml.rsocket.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thousands of virtual threads doing one request-response each, through the
+ * generated blocking client or through {@code block()} on the reactive one.
+ * One operation is the whole wave of callers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlockingClientBenchmark {
+
+    @Param({"1000", "10000"})
+    public int callers;
+
+    @Param({"bridge", "block"})
+    public String mode;
+
+    private RSocketBenchmarkEnvironment environment;
+    private BenchmarkRSocketApi client;
+    private BenchmarkRSocketApiBlockingClient blockingClient;
+    private BenchmarkDto dto;
+
+    @Setup
+    public void setUp() {
+        environment = new RSocketBenchmarkEnvironment("tcp");
+        RSocketRequester requester = environment.createRequester(RSocketBenchmarkEnvironment.CBOR_MIME_TYPE);
+        client = new BenchmarkRSocketApiClient(() -> requester);
+        blockingClient = new BenchmarkRSocketApiBlockingClient(client);
+        dto = new BenchmarkDto("x".repeat(64), 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.dispose();
+    }
+
+    @Benchmark
+    public void virtualThreadCallers() throws Exception {
+        boolean bridge = "bridge".equals(mode);
+        List<Future<BenchmarkDto>> futures = new ArrayList<>(callers);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> bridge
+                        ? blockingClient.requestResponse(dto)
+                        : client.requestResponse(Mono.just(dto)).block()));
+            }
+            for (Future<BenchmarkDto> future : futures) {
+                future.get();
+            }
+        }
+    }
+}
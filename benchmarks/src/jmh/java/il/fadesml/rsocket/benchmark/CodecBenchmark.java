@@ -0,0 +1,50 @@
+package il.fadesml.rsocket.benchmark;
+
+import il.fadesml.rsocket.codec.RSocketBinaryCodecs;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+// Generated binary codecs against Jackson CBOR, over local transport to keep the network out of it
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodecBenchmark {
+
+    @Param({"cbor", "binary"})
+    public String codec;
+
+    @Param({"16", "1024", "16384"})
+    public int payloadSize;
+
+    private RSocketBenchmarkEnvironment environment;
+    private BenchmarkCodecRSocketApi client;
+    private Mono<BenchmarkDto> data;
+
+    @Setup
+    public void setUp() {
+        environment = new RSocketBenchmarkEnvironment("local");
+        RSocketRequester requester = environment.createRequester(
+                "binary".equals(codec) ? RSocketBinaryCodecs.MIME_TYPE : RSocketBenchmarkEnvironment.CBOR_MIME_TYPE
+        );
+        client = new BenchmarkCodecRSocketApiClient(() -> requester);
+        data = Mono.just(new BenchmarkDto("x".repeat(payloadSize), 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.dispose();
+    }
+
+    @Benchmark
+    public BenchmarkDto requestResponse() {
+        return client.requestResponse(data).block();
+    }
+
+    @Benchmark
+    public BenchmarkDto requestStream() {
+        return client.requestStream(data).blockLast();
+    }
+}
@@ -0,0 +1,86 @@
+package il.fadesml.rsocket.benchmark;
+
+import il.fadesml.rsocket.compression.RSocketPayloadCompression;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.rsocket.Payload;
+import io.rsocket.util.ByteBufPayload;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Deflate of JSON-like payloads per size and level, the counters report the bytes that reach the wire
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompressionBenchmark {
+    private static final String[] WORDS = {"id", "name", "status", "ACTIVE", "PENDING", "amount", "currency", "EUR", "tags"};
+
+    @Param({"1024", "65536", "1048576", "4194304"})
+    public int payloadSize;
+
+    @Param({"1", "6"})
+    public int level;
+
+    private ByteBuf data;
+    private RSocketPayloadCompression.Policy policy;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+        public long wireBytes;
+        public long rawBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+            rawBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(payloadSize + 64).append('[');
+        while (json.length() < payloadSize) {
+            json.append("{\"").append(WORDS[random.nextInt(WORDS.length)]).append("\":")
+                    .append(random.nextInt(100_000)).append(",\"")
+                    .append(WORDS[random.nextInt(WORDS.length)]).append("\":\"")
+                    .append(WORDS[random.nextInt(WORDS.length)]).append("\"},");
+        }
+        byte[] bytes = json.substring(0, payloadSize - 1).concat("]").getBytes(StandardCharsets.UTF_8);
+
+        data = Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+        policy = new RSocketPayloadCompression.Policy(0, level);
+    }
+
+    @TearDown
+    public void tearDown() {
+        data.release();
+    }
+
+    @Benchmark
+    public int compress(WireBytes counters) {
+        Payload compressed = RSocketPayloadCompression.compress(ByteBufPayload.create(data.retainedSlice()), policy);
+        try {
+            counters.rawBytes += payloadSize;
+            counters.wireBytes += compressed.data().readableBytes();
+            return compressed.data().readableBytes();
+        } finally {
+            compressed.release();
+        }
+    }
+
+    @Benchmark
+    public int roundTrip() {
+        Payload compressed = RSocketPayloadCompression.compress(ByteBufPayload.create(data.retainedSlice()), policy);
+        Payload decompressed = RSocketPayloadCompression.decompress(compressed);
+        try {
+            return decompressed.data().readableBytes();
+        } finally {
+            decompressed.release();
+        }
+    }
+}
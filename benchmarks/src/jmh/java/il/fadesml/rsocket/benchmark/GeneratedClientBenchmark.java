@@ -0,0 +1,71 @@
+package il.fadesml.rsocket.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One call per operation through the generated client for every method type.
+ * Sampled time gives the latency percentiles, the gc profiler the allocation
+ * rate per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeneratedClientBenchmark {
+
+    @Param({"local", "tcp"})
+    public String transport;
+
+    @Param({"16", "1024", "16384"})
+    public int payloadSize;
+
+    private RSocketBenchmarkEnvironment environment;
+    private BenchmarkRSocketApi client;
+    private Mono<BenchmarkDto> data;
+    private Flux<BenchmarkDto> channelData;
+
+    @Setup
+    public void setUp() {
+        environment = new RSocketBenchmarkEnvironment(transport);
+        RSocketRequester requester = environment.createRequester(RSocketBenchmarkEnvironment.CBOR_MIME_TYPE);
+        client = new BenchmarkRSocketApiClient(() -> requester);
+
+        BenchmarkDto dto = new BenchmarkDto("x".repeat(payloadSize), 1);
+        data = Mono.just(dto);
+        channelData = Flux.range(0, BenchmarkController.STREAM_SIZE).map(index -> dto);
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.dispose();
+    }
+
+    @Benchmark
+    public BenchmarkDto requestResponse() {
+        return client.requestResponse(data).block();
+    }
+
+    @Benchmark
+    public BenchmarkDto requestResponseWithDestinationVariable() {
+        return client.requestResponseWithDestinationVariable("42", data).block();
+    }
+
+    @Benchmark
+    public void fireAndForget() {
+        client.fireAndForget(data).block();
+    }
+
+    @Benchmark
+    public BenchmarkDto requestStream() {
+        return client.requestStream(data).blockLast();
+    }
+
+    @Benchmark
+    public BenchmarkDto requestChannel() {
+        return client.requestChannel(channelData).blockLast();
+    }
+}
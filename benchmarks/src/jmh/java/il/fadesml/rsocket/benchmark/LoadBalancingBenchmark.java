@@ -0,0 +1,76 @@
+package il.fadesml.rsocket.benchmark;
+
+import il.fadesml.rsocket.loadbalance.LatencyWeightedSelectionStrategy;
+import il.fadesml.rsocket.loadbalance.LeastOutstandingSelectionStrategy;
+import il.fadesml.rsocket.loadbalance.LoadBalancedRSocketRequesterProvider;
+import il.fadesml.rsocket.loadbalance.RSocketRequesterSelectionStrategy;
+import il.fadesml.rsocket.loadbalance.RoundRobinSelectionStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A single connection against a pool of four TCP connections per selection strategy, scores are per call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(LoadBalancingBenchmark.CONCURRENT_CALLS)
+public class LoadBalancingBenchmark {
+    public static final int CONCURRENT_CALLS = 256;
+    private static final int CONNECTIONS = 4;
+
+    @Param({"single", "round-robin", "least-outstanding", "latency-weighted"})
+    public String provider;
+
+    private RSocketBenchmarkEnvironment environment;
+    private LoadBalancedRSocketRequesterProvider pool;
+    private BenchmarkRSocketApi client;
+    private Mono<BenchmarkDto> data;
+
+    @Setup
+    public void setUp() {
+        environment = new RSocketBenchmarkEnvironment("tcp");
+
+        if ("single".equals(provider)) {
+            RSocketRequester requester = environment.createRequester(RSocketBenchmarkEnvironment.CBOR_MIME_TYPE);
+            client = new BenchmarkRSocketApiClient(() -> requester);
+        } else {
+            pool = new LoadBalancedRSocketRequesterProvider(
+                    () -> environment.createRequesterBuilder(RSocketBenchmarkEnvironment.CBOR_MIME_TYPE),
+                    List.of(environment.createClientTransport()),
+                    CONNECTIONS,
+                    createStrategy(provider)
+            );
+            client = new BenchmarkRSocketApiClient(pool::getRSocketRequester);
+        }
+
+        data = Mono.just(new BenchmarkDto("x".repeat(1024), 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.dispose();
+        }
+        environment.dispose();
+    }
+
+    @Benchmark
+    public BenchmarkDto requestResponse() {
+        return Flux.range(0, CONCURRENT_CALLS)
+                .flatMap(index -> client.requestResponse(data), CONCURRENT_CALLS)
+                .blockLast();
+    }
+
+    private static RSocketRequesterSelectionStrategy createStrategy(String name) {
+        return switch (name) {
+            case "round-robin" -> new RoundRobinSelectionStrategy();
+            case "least-outstanding" -> new LeastOutstandingSelectionStrategy();
+            case "latency-weighted" -> new LatencyWeightedSelectionStrategy();
+            default -> throw new IllegalArgumentException("Unknown strategy: " + name);
+        };
+    }
+}
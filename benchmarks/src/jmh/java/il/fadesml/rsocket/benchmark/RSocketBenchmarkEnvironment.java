@@ -0,0 +1,88 @@
+package il.fadesml.rsocket.benchmark;
+
+import il.fadesml.rsocket.codec.RSocketBinaryDecoder;
+import il.fadesml.rsocket.codec.RSocketBinaryEncoder;
+import io.rsocket.Closeable;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.ClientTransport;
+import io.rsocket.transport.local.LocalClientTransport;
+import io.rsocket.transport.local.LocalServerTransport;
+import io.rsocket.transport.netty.client.TcpClientTransport;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process responder plus requesters for one transport, {@code local} or
+ * {@code tcp} on the loopback interface. The same strategies serve both sides,
+ * so a requester picks Jackson CBOR or the generated binary codecs through its
+ * data mime type alone.
+ */
+public class RSocketBenchmarkEnvironment {
+    public static final MimeType CBOR_MIME_TYPE = MimeTypeUtils.parseMimeType("application/cbor");
+
+    public static final RSocketStrategies STRATEGIES = RSocketStrategies.builder()
+            .encoder(new RSocketBinaryEncoder(BenchmarkCodecRSocketApiRSocketCodecs.CODECS), new Jackson2CborEncoder())
+            .decoder(new RSocketBinaryDecoder(BenchmarkCodecRSocketApiRSocketCodecs.CODECS), new Jackson2CborDecoder())
+            .build();
+
+    private final String transport;
+    private final String localName = "rsocket-benchmark-" + UUID.randomUUID();
+    private final Closeable server;
+    private final List<RSocketRequester> requesters = new ArrayList<>();
+
+    public RSocketBenchmarkEnvironment(String transport) {
+        RSocketMessageHandler handler = new RSocketMessageHandler();
+        handler.setRSocketStrategies(STRATEGIES);
+        handler.setHandlers(List.of(new BenchmarkController()));
+        handler.afterPropertiesSet();
+
+        this.transport = transport;
+        this.server = switch (transport) {
+            case "local" -> RSocketServer.create(handler.responder())
+                    .bind(LocalServerTransport.create(localName))
+                    .block();
+            case "tcp" -> RSocketServer.create(handler.responder())
+                    .bind(TcpServerTransport.create("127.0.0.1", 0))
+                    .block();
+            default -> throw new IllegalArgumentException("Unknown transport: " + transport);
+        };
+    }
+
+    public ClientTransport createClientTransport() {
+        return switch (transport) {
+            case "local" -> LocalClientTransport.create(localName);
+            case "tcp" -> TcpClientTransport.create(((CloseableChannel) server).address());
+            default -> throw new IllegalArgumentException("Unknown transport: " + transport);
+        };
+    }
+
+    public RSocketRequester.Builder createRequesterBuilder(MimeType dataMimeType) {
+        return RSocketRequester.builder()
+                .rsocketStrategies(STRATEGIES)
+                .dataMimeType(dataMimeType);
+    }
+
+    // Connected eagerly, so connection setup stays out of the measurement
+    public RSocketRequester createRequester(MimeType dataMimeType) {
+        RSocketRequester requester = createRequesterBuilder(dataMimeType).transport(createClientTransport());
+        requester.rsocketClient().source().block();
+        requesters.add(requester);
+        return requester;
+    }
+
+    public void dispose() {
+        requesters.forEach(RSocketRequester::dispose);
+        server.dispose();
+    }
+}
@@ -1,17 +1,42 @@
 package il.fadesml.rsocket.example;
 
 import il.fadesml.rsocket.annotation.RSocketApi;
+import il.fadesml.rsocket.annotation.RSocketBatch;
+import il.fadesml.rsocket.annotation.RSocketCircuitBreaker;
+import il.fadesml.rsocket.annotation.RSocketCompression;
+import il.fadesml.rsocket.annotation.RSocketConcurrencyLimit;
+import il.fadesml.rsocket.annotation.RSocketFlowControl;
+import il.fadesml.rsocket.annotation.RSocketLane;
+import il.fadesml.rsocket.annotation.RSocketLease;
+import il.fadesml.rsocket.annotation.RSocketMetadata;
+import il.fadesml.rsocket.annotation.RSocketResume;
+import il.fadesml.rsocket.annotation.RSocketRetry;
+import il.fadesml.rsocket.annotation.RSocketTimeout;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.rsocket.annotation.ConnectMapping;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RSocketApi(
         provider = ExampleRSocketRequesterProvider.class,
-        generateAsComponent = true
+        generateAsComponent = false,
+        generateCodecs = true,
+        generateBlockingClient = true,
+        generateServerAdapter = true,
+        generateConfiguration = true,
+        generateStub = true
 )
+@RSocketCircuitBreaker(failureRateThreshold = 50, minimumCalls = 20)
+@RSocketConcurrencyLimit(maxConcurrent = 1024)
+@RSocketResume(sessionDurationMillis = 60_000, storeSizeBytes = 1_000_000)
+@RSocketLease(maxPendingRequests = 256)
 public interface ExampleRSocketApi {
 
+    @RSocketTimeout(millis = 500)
+    @RSocketRetry(maxRetries = 2, minBackoffMillis = 50)
     @MessageMapping("example-request-response")
     Mono<ExampleDto> exampleRequestResponse(
             Mono<ExampleDto> data
@@ -23,18 +48,43 @@ public interface ExampleRSocketApi {
             Mono<ExampleDto> data
     );
 
+    @MessageMapping("example-request-response-list")
+    Mono<List<ExampleDto>> exampleRequestResponseList(
+            Mono<ExampleDto> data
+    );
+
+    @MessageMapping("example-request-response-with-metadata")
+    Mono<ExampleDto> exampleRequestResponseWithMetadata(
+            @RSocketMetadata(mimeType = "message/x.example.tenant") String tenantId,
+            Mono<ExampleDto> data
+    );
+
+    @RSocketBatch(route = "example-request-response-batch", maxSize = 32, maxDelayMillis = 2)
+    @MessageMapping("example-request-response-batched")
+    Mono<ExampleDto> exampleBatchedRequestResponse(
+            Mono<ExampleDto> data
+    );
+
     @MessageMapping("example-fire-and-forget")
     Mono<Void> exampleFireAndForget(
             Mono<ExampleDto> data
     );
 
+    @RSocketCompression(thresholdBytes = 8192)
     @MessageMapping("example-request-stream")
     Flux<ExampleDto> exampleRequestStream(
             Mono<ExampleDto> data
     );
 
+    @RSocketLane(name = "bulk", maxConcurrent = 8)
+    @RSocketFlowControl(initialRequest = 256, limitRate = 64, outboundBuffer = 1024)
     @MessageMapping("example-request-channel")
     Flux<ExampleDto> exampleRequestChannel(
             Flux<ExampleDto> data
     );
+
+    @ConnectMapping("example-metadata-push")
+    Mono<Void> exampleMetadataPush(
+            @RSocketMetadata(mimeType = "message/x.example.tenant") String tenantId
+    );
 }
@@ -6,9 +6,23 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class ExampleRSocketRequesterProvider implements RSocketRequesterProvider {
+    // One requester for the whole session, a resumed session continues on the same connector
+    private final RSocketRequester requester = RSocketRequester.builder()
+            .rsocketConnector(ExampleRSocketApiClient.RSOCKET_CONNECTOR_CONFIGURER)
+            .tcp("127.0.0.1", 1234);
+
+    // Bulk traffic gets a second connection so it never queues in front of interactive calls
+    private final RSocketRequester bulkRequester = RSocketRequester.builder()
+            .rsocketConnector(ExampleRSocketApiClient.RSOCKET_CONNECTOR_CONFIGURER)
+            .tcp("127.0.0.1", 1234);
+
     @Override
     public RSocketRequester getRSocketRequester() {
-        return RSocketRequester.builder()
-                .tcp("127.0.0.1", 1234);
+        return requester;
+    }
+
+    @Override
+    public RSocketRequester getRSocketRequester(String lane) {
+        return "bulk".equals(lane) ? bulkRequester : requester;
     }
 }